@@ -0,0 +1,142 @@
+package org.codehaus.mojo.license.header;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.codehaus.mojo.license.header.transformer.AptFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.FreeMarkerFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.HtmlFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.JavaFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.JspFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.MySqlFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.PhpFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.PropertiesFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.RstFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.SqlFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.XmlFileHeaderTransformer;
+import org.codehaus.mojo.license.model.Copyright;
+
+/**
+ * Synthetic headers and file contents used by the benchmarks.
+ *
+ * @since 2.8.0
+ */
+final class BenchmarkCorpus {
+
+    private static final String LICENSE = "Licensed under the Apache License, Version 2.0 (the \"License\");\n"
+            + "you may not use this file except in compliance with the License.\n"
+            + "You may obtain a copy of the License at\n"
+            + "\n"
+            + "     http://www.apache.org/licenses/LICENSE-2.0\n"
+            + "\n"
+            + "Unless required by applicable law or agreed to in writing, software\n"
+            + "distributed under the License is distributed on an \"AS IS\" BASIS,\n"
+            + "WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.\n"
+            + "See the License for the specific language governing permissions and\n"
+            + "limitations under the License.";
+
+    /**
+     * @param style a comment style
+     * @return a new transformer of the comment style
+     */
+    static FileHeaderTransformer newTransformer(String style) {
+        switch (style) {
+            case "java":
+                return new JavaFileHeaderTransformer();
+            case "xml":
+                return new XmlFileHeaderTransformer();
+            case "properties":
+                return new PropertiesFileHeaderTransformer();
+            case "sql":
+                return new SqlFileHeaderTransformer();
+            case "apt":
+                return new AptFileHeaderTransformer();
+            case "rst":
+                return new RstFileHeaderTransformer();
+            case "php":
+                return new PhpFileHeaderTransformer();
+            case "jsp":
+                return new JspFileHeaderTransformer();
+            case "ftl":
+                return new FreeMarkerFileHeaderTransformer();
+            case "html":
+                return new HtmlFileHeaderTransformer();
+            case "mysql":
+                return new MySqlFileHeaderTransformer();
+            default:
+                throw new IllegalArgumentException("Unknown comment style " + style);
+        }
+    }
+
+    /**
+     * @return a new header, as built by the header goals
+     */
+    static FileHeader newFileHeader() {
+        FileHeader header = new FileHeader();
+        header.setDescription("License Maven Plugin benchmark");
+        header.setCopyright(Copyright.newCopyright(2010, 2026, "Codehaus"));
+        header.setLicense(LICENSE);
+        return header;
+    }
+
+    /**
+     * @param transformer transformer of the processed files
+     * @return a new processor, configured as by the header goals
+     */
+    static FileHeaderProcessor newProcessor(FileHeaderTransformer transformer) {
+        UpdateFileHeaderFilter filter = new UpdateFileHeaderFilter();
+        filter.setUpdateCopyright(true);
+        filter.setUpdateDescription(true);
+        filter.setUpdateLicense(true);
+        return new FileHeaderProcessor(filter, newFileHeader(), transformer);
+    }
+
+    /**
+     * Builds the content of a file without header.
+     *
+     * @param style a comment style
+     * @param size  approximative number of chars of the content
+     * @return the content, starting with the prolog of the comment style if any
+     */
+    static String newBody(String style, int size) {
+        StringBuilder body = new StringBuilder(size + 64);
+        switch (style) {
+            case "java":
+                body.append("package org.codehaus.mojo.license.benchmark;\n\n");
+                break;
+            case "xml":
+            case "html":
+                body.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+                break;
+            case "php":
+                body.append("<?php\n");
+                break;
+            default:
+                break;
+        }
+        for (int i = 0; body.length() < size; i++) {
+            body.append("value").append(i).append(" = the line ").append(i).append(" of the synthetic content\n");
+        }
+        return body.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package org.codehaus.mojo.license.header;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the processing of file contents by the {@link FileHeaderProcessor} and its
+ * {@link UpdateFileHeaderFilter}, for each comment style, on contents of various sizes with and without header.
+ *
+ * @since 2.8.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class FileHeaderProcessorBenchmark {
+
+    @Param({"java", "xml", "properties", "sql", "apt", "rst", "php", "jsp", "ftl", "html", "mysql"})
+    public String style;
+
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean withHeader;
+
+    private FileHeaderProcessor processor;
+
+    private HeaderScanner scanner;
+
+    private String body;
+
+    private String content;
+
+    @Setup
+    public void setUp() {
+        FileHeaderTransformer transformer = BenchmarkCorpus.newTransformer(style);
+        processor = BenchmarkCorpus.newProcessor(transformer);
+        scanner = new HeaderScanner(
+                "%" + "%Ignore-License",
+                transformer.getProcessStartTag(),
+                transformer.getProcessEndTag(),
+                transformer.getSectionDelimiter());
+        body = BenchmarkCorpus.newBody(style, size);
+        content = withHeader ? processor.addHeader(body) : body;
+    }
+
+    /**
+     * Processes the whole content with the processor filter.
+     */
+    @Benchmark
+    public String processContent() throws IOException {
+        return processor.process(content);
+    }
+
+    /**
+     * Locates the header with the scanner, then processes only the header region, as the header goals do.
+     */
+    @Benchmark
+    public String processHeaderRegion() throws IOException {
+        HeaderScanner.Result scan = scanner.scan(content);
+        if (!scan.hasHeader()) {
+            return null;
+        }
+        return processor.process(content.substring(scan.getHeaderStart(), scan.getHeaderEnd()));
+    }
+
+    /**
+     * Adds the header to the content without header.
+     */
+    @Benchmark
+    public String addHeader() {
+        return processor.addHeader(body);
+    }
+}
@@ -0,0 +1,91 @@
+package org.codehaus.mojo.license.header;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the conversions between header models and texts of each {@link FileHeaderTransformer}.
+ *
+ * @since 2.8.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class FileHeaderTransformerBenchmark {
+
+    @Param({"java", "xml", "properties", "sql", "apt", "rst", "php", "jsp", "ftl", "html", "mysql"})
+    public String style;
+
+    private FileHeaderTransformer transformer;
+
+    private FileHeader header;
+
+    private String boxedHeader;
+
+    @Setup
+    public void setUp() {
+        transformer = BenchmarkCorpus.newTransformer(style);
+        header = BenchmarkCorpus.newFileHeader();
+
+        // the text between the process tags, as given to the processor filter
+        String headerContent = transformer.toHeaderContent(header);
+        boxedHeader = headerContent.substring(
+                transformer.getProcessStartTag().length(),
+                headerContent.length() - transformer.getProcessEndTag().length());
+    }
+
+    /**
+     * Reads the header model from a header found in a file.
+     */
+    @Benchmark
+    public FileHeader toFileHeader() {
+        return transformer.toFileHeader(transformer.unboxComent(boxedHeader));
+    }
+
+    /**
+     * Builds the header written back in a file whose header was found.
+     */
+    @Benchmark
+    public String toHeaderContent() {
+        return transformer.toHeaderContent(header);
+    }
+
+    /**
+     * Builds the header added to a file without header, boxed in comment and process tags.
+     */
+    @Benchmark
+    public String boxFullHeader() {
+        return transformer.boxComment(transformer.boxProcessTag(transformer.toString(header)), true);
+    }
+}
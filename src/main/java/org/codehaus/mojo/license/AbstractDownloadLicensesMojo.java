@@ -62,7 +62,9 @@ import org.apache.maven.settings.crypto.SettingsDecryptionResult;
 import org.codehaus.mojo.license.api.ArtifactFilters;
 import org.codehaus.mojo.license.api.MavenProjectDependenciesConfigurator;
 import org.codehaus.mojo.license.download.Cache;
+import org.codehaus.mojo.license.download.ConcurrentLicenseDownloader;
 import org.codehaus.mojo.license.download.FileNameEntry;
+import org.codehaus.mojo.license.download.LicenseDownloadCache;
 import org.codehaus.mojo.license.download.LicenseDownloader;
 import org.codehaus.mojo.license.download.LicenseDownloader.LicenseDownloadResult;
 import org.codehaus.mojo.license.download.LicenseMatchers;
@@ -78,6 +80,8 @@ import org.codehaus.mojo.license.extended.spreadsheet.CalcFileWriter;
 import org.codehaus.mojo.license.extended.spreadsheet.ExcelFileWriter;
 import org.codehaus.mojo.license.spdx.SpdxLicenseList;
 import org.codehaus.mojo.license.spdx.SpdxLicenseList.Attachments.ContentSanitizer;
+import org.codehaus.mojo.license.spdx.SpdxLicenseTexts;
+import org.codehaus.mojo.license.utils.ConcurrentFileProcessor;
 import org.codehaus.mojo.license.utils.FileUtil;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.slf4j.Logger;
@@ -682,6 +686,67 @@ public abstract class AbstractDownloadLicensesMojo extends AbstractLicensesXmlMo
     @Parameter(property = "license.connectionRequestTimeout", defaultValue = "5000")
     private int connectionRequestTimeout;
 
+    /**
+     * Number of threads used to download licenses from remote URLs. {@code 1} downloads the licenses one after the
+     * other, a value lower than {@code 1} uses as many threads as available processors.
+     * <p>
+     * The resulting files and license summaries do not depend on the number of threads.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.downloadThreads", defaultValue = "1")
+    private int downloadThreads;
+
+    /**
+     * Maximum number of licenses downloaded at once from a single host, when {@link #downloadThreads} is not
+     * {@code 1}. A value lower than {@code 1} does not limit the downloads from a single host.
+     * <p>
+     * This is also the maximum number of HTTP connections open at once to a single host, whichever thread downloads
+     * the licenses.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.downloadThreadsPerHost", defaultValue = "2")
+    private int downloadThreadsPerHost;
+
+    /**
+     * A flag to keep the licenses downloaded from HTTP URLs in a persistent cache shared by all modules and builds,
+     * see {@link #downloadCacheDirectory}.
+     * <p>
+     * A cached license is revalidated with a conditional request and is not downloaded again if the server answers
+     * it was not modified.
+     * <p>
+     * Without the cache, a license downloaded from HTTP is held in memory until stored, so that the modules of a
+     * parallel build downloading it at once can share the download.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.useDownloadCache", defaultValue = "false")
+    private boolean useDownloadCache;
+
+    /**
+     * Directory of the persistent cache of the downloaded licenses, only used if {@link #useDownloadCache} is on.
+     * <p>
+     * The licenses downloaded with the credentials of {@link #serverId} (from the URLs starting with
+     * {@link #serverUrl}) are never stored in this directory, which may be shared by all users of the machine.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.downloadCacheDirectory", defaultValue = "${user.home}/.m2/license-cache")
+    private File downloadCacheDirectory;
+
+    /**
+     * A flag to use the canonical texts of the SPDX licenses bundled with the plugin instead of downloading them.
+     * <p>
+     * A bundled text is used for the URLs bound by {@link #licenseUrlFileNames} to a file name with an expected sha1
+     * (such as the {@code spdx} entry) which is the one of this text. Such files are then also filled when
+     * {@link #offline} is on.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.useBundledLicenseTexts", defaultValue = "false")
+    private boolean useBundledLicenseTexts;
+
     /**
      * A list of sanitizers to process the content of license files before storing them locally and before computing
      * their sha1 sums. Useful for removing parts of the content that change over time.
@@ -897,6 +962,7 @@ public abstract class AbstractDownloadLicensesMojo extends AbstractLicensesXmlMo
         final String downloadUserName = server != null ? server.getUsername() : null;
         final String downloadPassword = server != null ? server.getPassword() : null;
         final Map<String, String> serverHttpHeaders = server != null ? getHttpHeaders(server) : Collections.emptyMap();
+        final int threads = ConcurrentFileProcessor.resolveThreads(downloadThreads);
         try (LicenseDownloader licenseDownloader = new LicenseDownloader(
                 findActiveProxy(),
                 connectTimeout,
@@ -907,7 +973,9 @@ public abstract class AbstractDownloadLicensesMojo extends AbstractLicensesXmlMo
                 downloadUserName,
                 downloadPassword,
                 serverUrl,
-                serverHttpHeaders)) {
+                serverHttpHeaders,
+                threads == 1 ? 0 : threads,
+                downloadThreadsPerHost)) {
             for (LicensedArtifact artifact : dependencies.values()) {
                 LOG.debug("Checking licenses for project {}", artifact);
                 final ProjectLicenseInfo depProject = createDependencyProject(artifact);
@@ -922,20 +990,7 @@ public abstract class AbstractDownloadLicensesMojo extends AbstractLicensesXmlMo
 
                 depProjectLicenses.add(depProject);
             }
-            if (!offline) {
-                /* First save the matching URLs into the cache */
-                for (ProjectLicenseInfo depProject : depProjectLicenses) {
-                    downloadLicenses(licenseDownloader, depProject, true);
-                }
-                LOG.debug("Finished populating cache");
-                /*
-                 * Then attempt to download the rest of the URLs using the available cache entries to select local
-                 * file names based on file content sha1
-                 */
-                for (ProjectLicenseInfo depProject : depProjectLicenses) {
-                    downloadLicenses(licenseDownloader, depProject, false);
-                }
-            }
+            downloadLicenses(licenseDownloader, depProjectLicenses);
 
             filterCopyrightLines(depProjectLicenses);
         } catch (IOException e) {
@@ -1381,15 +1436,165 @@ public abstract class AbstractDownloadLicensesMojo extends AbstractLicensesXmlMo
         return licenseFileName;
     }
 
+    /**
+     * Download the licenses of all the dependencies, or only store the ones having a bundled text if
+     * {@link #offline} is on.
+     *
+     * @param licenseDownloader  the downloader of the licenses
+     * @param depProjectLicenses the projects of the dependencies
+     * @throws IOException if the downloads were interrupted
+     * @throws MojoFailureException
+     */
+    private void downloadLicenses(LicenseDownloader licenseDownloader, List<ProjectLicenseInfo> depProjectLicenses)
+            throws IOException, MojoFailureException {
+        if (useDownloadCache) {
+            licenseDownloader.setDownloadCache(new LicenseDownloadCache(downloadCacheDirectory));
+        }
+        if (useBundledLicenseTexts) {
+            licenseDownloader.setLicenseTexts(SpdxLicenseTexts.getBundled());
+        }
+        if (!offline) {
+            final ConcurrentLicenseDownloader concurrentDownloader = downloadThreads == 1
+                    ? null
+                    : new ConcurrentLicenseDownloader(licenseDownloader, downloadThreads, downloadThreadsPerHost);
+            /* First save the matching URLs into the cache */
+            downloadConcurrently(concurrentDownloader, depProjectLicenses, true);
+            for (ProjectLicenseInfo depProject : depProjectLicenses) {
+                downloadLicenses(licenseDownloader, concurrentDownloader, depProject, true);
+            }
+            LOG.debug("Finished populating cache");
+            /*
+             * Then attempt to download the rest of the URLs using the available cache entries to select local
+             * file names based on file content sha1
+             */
+            downloadConcurrently(concurrentDownloader, depProjectLicenses, false);
+            for (ProjectLicenseInfo depProject : depProjectLicenses) {
+                downloadLicenses(licenseDownloader, concurrentDownloader, depProject, false);
+            }
+        } else if (useBundledLicenseTexts) {
+            /* Only fill the files of the licenses having a bundled text */
+            for (ProjectLicenseInfo depProject : depProjectLicenses) {
+                copyLicenseTexts(licenseDownloader, depProject);
+            }
+        }
+    }
+
+    /**
+     * Stores the licenses associated with this project whose text is bundled, without downloading any license.
+     *
+     * @param licenseDownloader the downloader storing the bundled texts
+     * @param depProject        the project of the dependency
+     * @throws MojoFailureException
+     */
+    private void copyLicenseTexts(LicenseDownloader licenseDownloader, ProjectLicenseInfo depProject)
+            throws MojoFailureException {
+        if (depProject.getLicenses() == null) {
+            return;
+        }
+        for (ProjectLicense license : depProject.getLicenses()) {
+            if (StringUtils.isBlank(license.getUrl())) {
+                continue;
+            }
+            final String licenseUrl = urlReplacements.rewriteIfNecessary(license.getUrl());
+            try {
+                final FileNameEntry fileNameEntry =
+                        getLicenseFileName(depProject, licenseUrl, license.getName(), license.getFile());
+                if (!licenseDownloader.hasLicenseText(fileNameEntry)) {
+                    continue;
+                }
+                LicenseDownloadResult result = cache.get(licenseUrl);
+                if (result == null) {
+                    final File licenseOutputFile = fileNameEntry.getFile();
+                    if (licenseOutputFile.exists() && !forceDownload) {
+                        result = LicenseDownloadResult.success(
+                                licenseOutputFile,
+                                FileUtil.sha1(licenseOutputFile.toPath()),
+                                fileNameEntry.isPreferred());
+                    } else {
+                        result = licenseDownloader.downloadLicense(licenseUrl, fileNameEntry);
+                    }
+                    cache.put(licenseUrl, result);
+                }
+                handleResult(licenseUrl, result, depProject, license);
+            } catch (URISyntaxException e) {
+                String msg = "POM for dependency " + depProject.toGavString() + " has an invalid license URL: "
+                        + licenseUrl;
+                handleError(depProject, msg);
+                LOG.debug(msg, e);
+            } catch (IOException e) {
+                String msg = "Unable to store the license text of URL '" + licenseUrl + "' for dependency '"
+                        + depProject.toGavString() + "': " + e.getMessage();
+                handleError(depProject, msg);
+                LOG.debug(msg, e);
+            }
+        }
+    }
+
+    /**
+     * Downloads concurrently the licenses that {@link #downloadLicenses} will download, so that it then only has to
+     * take their results in its own order.
+     * <p>
+     * Only the first URL of each license file is downloaded: if another URL is stored in the same file, it is then
+     * handled as if downloaded one after the other.
+     *
+     * @param concurrentDownloader the concurrent downloader, {@code null} to download the licenses one after the other
+     * @param depProjects          the projects of the dependencies
+     * @param matchingUrlsOnly     {@code true} to download only the URLs with a preferred file name, {@code false} to
+     *                             download only the others
+     * @throws IOException if the downloads were interrupted
+     */
+    private void downloadConcurrently(
+            ConcurrentLicenseDownloader concurrentDownloader,
+            List<ProjectLicenseInfo> depProjects,
+            boolean matchingUrlsOnly)
+            throws IOException {
+        if (concurrentDownloader == null) {
+            return;
+        }
+        final Set<File> licenseOutputFiles = new HashSet<>();
+        for (ProjectLicenseInfo depProject : depProjects) {
+            if (depProject.getLicenses() == null) {
+                continue;
+            }
+            for (ProjectLicense license : depProject.getLicenses()) {
+                if (StringUtils.isBlank(license.getUrl())) {
+                    continue;
+                }
+                final String licenseUrl = urlReplacements.rewriteIfNecessary(license.getUrl());
+                if (cache.get(licenseUrl) != null) {
+                    continue;
+                }
+                final FileNameEntry fileNameEntry;
+                try {
+                    fileNameEntry = getLicenseFileName(depProject, licenseUrl, license.getName(), license.getFile());
+                } catch (URISyntaxException e) {
+                    /* reported when downloaded */
+                    continue;
+                }
+                final File licenseOutputFile = fileNameEntry.getFile();
+                if (matchingUrlsOnly == fileNameEntry.isPreferred()
+                        && (!licenseOutputFile.exists() || forceDownload)
+                        && licenseOutputFiles.add(licenseOutputFile)) {
+                    concurrentDownloader.add(licenseUrl, fileNameEntry);
+                }
+            }
+        }
+        concurrentDownloader.downloadAll();
+    }
+
     /**
      * Download the licenses associated with this project
      *
+     * @param concurrentDownloader downloader of the licenses downloaded beforehand, may be {@code null}
      * @param depProject The project which generated the dependency
      * @param matchingUrlsOnly
      * @throws MojoFailureException
      */
     private void downloadLicenses(
-            LicenseDownloader licenseDownloader, ProjectLicenseInfo depProject, boolean matchingUrlsOnly)
+            LicenseDownloader licenseDownloader,
+            ConcurrentLicenseDownloader concurrentDownloader,
+            ProjectLicenseInfo depProject,
+            boolean matchingUrlsOnly)
             throws MojoFailureException {
         LOG.debug("Downloading license(s) for project {}", depProject);
 
@@ -1441,9 +1646,13 @@ public abstract class AbstractDownloadLicensesMojo extends AbstractLicensesXmlMo
 
                         final File licenseOutputFile = fileNameEntry.getFile();
                         if (matchingUrlsOnly == fileNameEntry.isPreferred()) {
-                            if (!licenseOutputFile.exists() || forceDownload) {
-                                LicenseDownloadResult result =
-                                        licenseDownloader.downloadLicense(licenseUrl, fileNameEntry);
+                            /* Downloaded beforehand: the output file exists but the result still has to be handled */
+                            final LicenseDownloadResult downloaded =
+                                    concurrentDownloader != null ? concurrentDownloader.take(licenseUrl) : null;
+                            if (downloaded != null || !licenseOutputFile.exists() || forceDownload) {
+                                LicenseDownloadResult result = downloaded != null
+                                        ? downloaded
+                                        : licenseDownloader.downloadLicense(licenseUrl, fileNameEntry);
                                 if (!organizeLicensesByDependencies && result.isSuccess()) {
                                     /* check if we can re-use an existing file that has the same content */
                                     final String name = preferredFileNames.getFileNameBySha1(result.getSha1());
@@ -24,34 +24,43 @@ package org.codehaus.mojo.license;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import freemarker.template.Template;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProjectHelper;
+import org.codehaus.mojo.license.api.FileTemplateRenderer;
 import org.codehaus.mojo.license.api.FreeMarkerHelper;
 import org.codehaus.mojo.license.header.FileHeader;
+import org.codehaus.mojo.license.header.FileHeaderIndex;
 import org.codehaus.mojo.license.header.FileHeaderProcessor;
+import org.codehaus.mojo.license.header.HeaderScanner;
 import org.codehaus.mojo.license.header.InvalideFileHeaderException;
 import org.codehaus.mojo.license.header.UpdateFileHeaderFilter;
 import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
 import org.codehaus.mojo.license.header.transformer.JavaFileHeaderTransformer;
 import org.codehaus.mojo.license.model.Copyright;
 import org.codehaus.mojo.license.model.License;
+import org.codehaus.mojo.license.utils.ConcurrentFileProcessor;
+import org.codehaus.mojo.license.utils.FileContentReader;
+import org.codehaus.mojo.license.utils.FileReplacementBatch;
 import org.codehaus.mojo.license.utils.FileUtil;
+import org.codehaus.mojo.license.utils.GitChangedFiles;
 import org.codehaus.mojo.license.utils.MojoHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -319,6 +328,173 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
             defaultValue = "/org/codehaus/mojo/license/default-file-header-description.ftl")
     private String descriptionTemplate;
 
+    /**
+     * A flag to keep an index of the files whose header was found up to date (or which were ignored).
+     * <p>
+     * On next executions, files not modified since they were indexed are classified without being opened nor
+     * processed, which speeds up a lot checks on large source trees.
+     * <p>
+     * The index is fully invalidated as soon as one of the inputs used to build the expected header changes (license,
+     * copyright, description, process tags, comment style settings...).
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.useFileHeaderIndex", defaultValue = "false")
+    private boolean useFileHeaderIndex;
+
+    /**
+     * Location of the index of files used when {@link #useFileHeaderIndex} is on.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(
+            property = "license.fileHeaderIndexFile",
+            defaultValue = "${project.build.directory}/license/file-header-index.properties")
+    private File fileHeaderIndexFile;
+
+    /**
+     * Number of threads used to process files.
+     * <p>
+     * If not set (or lower than {@code 1}), will use as many threads as available processors.
+     * <p>
+     * <b>Note:</b> Files are processed on a thread pool dedicated to this goal, not on the JVM common pool shared
+     * with the Maven parallel builder.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Number of leading bytes of a file read to detect its header, {@code 0} to always read whole files.
+     * <p>
+     * When set, a file whose header is found complete and up to date within this window is not read any further. The
+     * whole file is only read when the header end tag is not in the window, or when the header must be added or
+     * updated. This speeds up a lot checks of projects containing big files (like generated sql or xml files).
+     * <p>
+     * <b>Note:</b> Nothing located after the window of a file with an up to date header is seen: such a file is
+     * reported as up to date even if an {@link #ignoreTag} (the file is then not reported as ignored), a second
+     * header start tag or a second header (the file is then not reported as failed) follows the window.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.headerWindowSize", defaultValue = "0")
+    private int headerWindowSize;
+
+    /**
+     * Size in bytes above which a file is streamed instead of being loaded in memory, {@code 0} to never stream files.
+     * <p>
+     * The header of a streamed file is looked for in its first {@value #STREAMING_WINDOW_SIZE} bytes. Only the head
+     * of this window is processed in memory and rewritten: up to the end of the line of the header end tag, or if the
+     * file has no header, up to the end of the last complete line of the window. The rest of the file is streamed to
+     * the new file with a bounded buffer. This keeps the memory used to process huge files (like generated sql dumps
+     * or xml data files) bounded by the window size.
+     * <p>
+     * A file is still loaded in memory when its window contains a header start tag but not its end tag, when the line
+     * of the header end tag does not end in the window, or when the window contains no complete line.
+     * <p>
+     * <b>Note:</b> The {@link #ignoreTag} and a second header start tag are only looked for in the window of a
+     * streamed file, and the {@link #useFileHeaderIndex index} of a streamed file does not include its content hash.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.streamingThreshold", defaultValue = "0")
+    private long streamingThreshold;
+
+    /**
+     * A flag to flush updated files to the storage device before they replace the original files.
+     * <p>
+     * Updated files are always written to temporary files of the {@link #stagingDirectory} first, and only moved over
+     * the original files once all files were processed. When this flag is on, each temporary file is also flushed to
+     * the storage device before being moved, and each directory is flushed once after all its files were moved, so
+     * that a crash of the machine can not leave empty or partially written files.
+     * <p>
+     * <b>Note:</b> If the build is killed (or the machine crashes) before the temporary files were moved, the
+     * original files are left untouched and the temporary files are left in the {@link #stagingDirectory} until it
+     * is cleaned. If it happens while they are moved, only some of the original files are updated, and the next run
+     * updates the others.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.syncFiles", defaultValue = "false")
+    private boolean syncFiles;
+
+    /**
+     * Directory where the updated files are written before they replace the original files, see
+     * {@link #syncFiles}.
+     * <p>
+     * Each run uses its own sub directory, removed at the end of the run. It should be on the same file store as the
+     * processed files, so that the updated files can be moved atomically over the original files; otherwise each
+     * updated file is first copied next to its original file.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(
+            property = "license.stagingDirectory",
+            defaultValue = "${project.build.directory}/license/file-header-staging")
+    private File stagingDirectory;
+
+    /**
+     * A flag to process only once the files with the same content.
+     * <p>
+     * The first file with a given content is processed, then its state and its new content are reused for all the
+     * other files with the same content (such as generated or copied files), which only have to be written.
+     * <p>
+     * Only used when the description template does not depend on the file, and not for the files streamed (see
+     * {@link #streamingThreshold}) or found up to date from their header window (see {@link #headerWindowSize}).
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.deduplicateFiles", defaultValue = "false")
+    private boolean deduplicateFiles;
+
+    /**
+     * A flag to write a JSON report of the time spent in each phase of the goal.
+     * <p>
+     * The report contains the time of each phase (discovery, read, description render, parse, write and finalize),
+     * the number of files and bytes per comment style, the median and 99th percentile of the time spent per file, and
+     * the slowest files and directories.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.writeHeaderMetrics", defaultValue = "false")
+    private boolean writeHeaderMetrics;
+
+    /**
+     * Location of the report written when {@link #writeHeaderMetrics} is on.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(
+            property = "license.headerMetricsFile",
+            defaultValue = "${project.build.directory}/license/file-header-metrics.json")
+    private File headerMetricsFile;
+
+    /**
+     * A git reference (branch, tag or commit) to only process the files changed since.
+     * <p>
+     * When set, only the files changed since the common ancestor of this reference and {@code HEAD} are processed,
+     * including the uncommitted and untracked ones. The {@link #roots}, {@link #includes} and {@link #excludes}
+     * parameters still apply. This is mostly useful to validate pull requests, for example with
+     * {@code -Dlicense.changedSince=origin/main}.
+     * <p>
+     * <b>Note:</b> The {@code git} executable must be available on the path, otherwise the goal fails.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.changedSince")
+    private String changedSince;
+
+    /**
+     * Number of leading bytes of a streamed file in which its header is looked for.
+     */
+    private static final int STREAMING_WINDOW_SIZE = 64 * 1024;
+
+    /**
+     * Maximum number of chars of the new contents kept to be reused for files with the same content.
+     */
+    private static final long MAX_PROCESSED_CONTENTS_SIZE = 16 * 1024 * 1024;
+
     // ----------------------------------------------------------------------
     // Plexus components
     // ----------------------------------------------------------------------
@@ -361,13 +537,59 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
     /**
      * Dictionary of treated files indexed by their state.
      */
-    Map<FileState, Set<File>> result;
+    FileStateResult result;
 
     /**
      * Dictionary of files to treat indexed by their CommentStyle.
      */
     private Map<String, List<File>> filesToTreatByCommentStyle;
 
+    /**
+     * The file header to use if no header is found on a file (license and copyright are built once for all files).
+     */
+    private FileHeader defaultFileHeader;
+
+    /**
+     * Index of files found up to date on previous executions (only used if {@link #useFileHeaderIndex} is on).
+     */
+    private FileHeaderIndex fileHeaderIndex;
+
+    /**
+     * Outcomes of the processed contents indexed by comment style and content hash (only used if
+     * {@link #deduplicateFiles} is on).
+     */
+    private Map<String, Outcome> processedContents;
+
+    /**
+     * Number of chars of the new contents kept in {@link #processedContents}.
+     */
+    private final AtomicLong processedContentsSize = new AtomicLong();
+
+    /**
+     * Maximum number of chars of the new contents kept in {@link #processedContents}.
+     */
+    private long maxProcessedContentsSize = MAX_PROCESSED_CONTENTS_SIZE;
+
+    /**
+     * Renderer of the description of files.
+     */
+    private FileTemplateRenderer descriptionRenderer;
+
+    /**
+     * Reader of the content of the files to process.
+     */
+    private FileContentReader contentReader;
+
+    /**
+     * Files to replace with their updated content.
+     */
+    private FileReplacementBatch replacements;
+
+    /**
+     * Timing metrics of the goal.
+     */
+    private FileHeaderMetrics metrics;
+
     /**
      * Freemarker helper component.
      *
@@ -525,9 +747,15 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
         if (extraFiles == null) {
             extraFiles = Collections.emptyMap();
         }
+        metrics = new FileHeaderMetrics(writeHeaderMetrics);
+        long time = metrics.start();
         // get all files to treat indexed by their comment style
         filesToTreatByCommentStyle = obtainFilesToProcessByCommentStyle(
                 extraFiles, roots, includes, excludes, extensionToCommentStyle, transformers);
+        if (StringUtils.isNotEmpty(changedSince)) {
+            retainChangedFiles();
+        }
+        metrics.lap(FileHeaderMetrics.Phase.DISCOVERY, time);
         // build the description template
         if (isVerbose()) {
             LOG.info("Use description template: {}", descriptionTemplate);
@@ -541,19 +769,97 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
         long t0 = System.nanoTime();
 
         processedFiles = ConcurrentHashMap.newKeySet();
-        result = new EnumMap<>(FileState.class);
+        Set<FileState> fullStates = EnumSet.noneOf(FileState.class);
+        if (isDryRun() && isFailOnMissingHeader()) {
+            fullStates.add(FileState.add);
+        }
+        if (isDryRun() && isFailOnNotUptodateHeader()) {
+            fullStates.add(FileState.update);
+        }
+        result = newFileStateResult(fullStates);
+
+        defaultFileHeader = newDefaultFileHeader();
+
+        Map<String, Object> descriptionParameters = getDescriptionParameters();
+        LOG.debug("Description parameters: {}", descriptionParameters);
+        descriptionRenderer = new FileTemplateRenderer(
+                descriptionTemplate0, descriptionParameters, "file", getDescriptionSampleFile());
+        if (isVerbose() && descriptionRenderer.isFileInvariant()) {
+            LOG.info("Description template does not depend on the file, will render it only once");
+        }
+        contentReader = new FileContentReader(getEncoding());
+        replacements = new FileReplacementBatch(
+                new File(stagingDirectory, String.valueOf(timestamp)), "_" + timestamp, syncFiles);
+        processedContents = null;
+        if (deduplicateFiles) {
+            if (descriptionRenderer.isFileInvariant()) {
+                processedContents = new ConcurrentHashMap<>();
+            } else {
+                LOG.warn("Description template depends on the file, will not deduplicate files with the same content");
+            }
+        }
+
+        if (useFileHeaderIndex) {
+            fileHeaderIndex = FileHeaderIndex.load(fileHeaderIndexFile, getHeaderInputsFingerprint());
+            if (isVerbose()) {
+                LOG.info("Loaded {} file(s) from index {}", fileHeaderIndex.size(), fileHeaderIndexFile);
+            }
+        }
 
         try {
 
+            // files of all comment styles go in a single queue, so all threads are kept busy until the end
+            List<FileToProcess> filesToProcess = new ArrayList<>();
+
             for (Map.Entry<String, List<File>> commentStyleFiles : filesToTreatByCommentStyle.entrySet()) {
 
                 String commentStyle = commentStyleFiles.getKey();
                 List<File> files = commentStyleFiles.getValue();
 
-                processCommentStyle(commentStyle, files);
+                processCommentStyle(commentStyle, files, filesToProcess);
+            }
+
+            ConcurrentFileProcessor<FileToProcess> fileProcessor =
+                    new ConcurrentFileProcessor<>(threads, "license-header");
+            if (isVerbose()) {
+                LOG.info(
+                        "Will process {} file(s) with {} thread(s)",
+                        filesToProcess.size(),
+                        fileProcessor.getThreads());
+            }
+            fileProcessor.process(filesToProcess, this::processFile);
+            fileProcessor.logStats(isVerbose());
+
+            // all files were processed, replace the updated ones
+            long time = metrics.start();
+            int replaced = replacements.commit(isKeepBackup());
+            metrics.lap(FileHeaderMetrics.Phase.FINALIZE, time);
+            if (isVerbose()) {
+                LOG.info("Replaced {} file(s)", replaced);
+            }
+
+            if (metrics.isEnabled()) {
+                metrics.write(
+                        headerMetricsFile,
+                        getProject().getBasedir(),
+                        fileProcessor.getThreads(),
+                        System.nanoTime() - t0,
+                        result);
+                LOG.info("Header metrics written to {}", headerMetricsFile);
             }
 
         } finally {
+            // remove the temporary files if processing failed
+            replacements.rollback();
+
+            if (fileHeaderIndex != null) {
+                try {
+                    fileHeaderIndex.store();
+                } catch (IOException e) {
+                    LOG.warn("Could not save file header index {}", fileHeaderIndexFile, e);
+                }
+            }
+
             checkResults(result);
 
             int nbFiles = processedFiles.size();
@@ -565,7 +871,7 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
                         String.format("Scan %s file%s header done in %s.", nbFiles, nbFiles > 1 ? "s" : "", delay);
                 LOG.info(message);
             }
-            Set<FileState> states = result.keySet();
+            Set<FileState> states = result.getStates();
             if (states.size() == 1 && states.contains(FileState.uptodate)) {
                 // all files where up to date
                 LOG.info("All files are up-to-date.");
@@ -593,12 +899,12 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
      * @param result processed files by their status
      * @throws MojoFailureException if check is not ok (some file with no header or to update)
      */
-    private void checkResults(Map<FileState, Set<File>> result) throws MojoFailureException {
-        Set<FileState> states = result.keySet();
+    private void checkResults(FileStateResult result) throws MojoFailureException {
+        Set<FileState> states = result.getStates();
 
         StringBuilder builder = new StringBuilder();
         if (isDryRun() && isFailOnMissingHeader() && states.contains(FileState.add)) {
-            List<File> files = FileUtil.orderFiles(result.get(FileState.add));
+            List<File> files = FileUtil.orderFiles(result.getFiles(FileState.add));
 
             builder.append("There are ").append(files.size()).append(" file(s) with no header :");
             for (File file : files) {
@@ -607,7 +913,7 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
         }
 
         if (isDryRun() && isFailOnNotUptodateHeader() && states.contains(FileState.update)) {
-            List<File> files = FileUtil.orderFiles(result.get(FileState.update));
+            List<File> files = FileUtil.orderFiles(result.getFiles(FileState.update));
 
             builder.append("\nThere are ").append(files.size()).append(" file(s) with header to update:");
             for (File file : files) {
@@ -622,13 +928,13 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
     }
 
     /**
-     * Process a given comment style to all his detected files.
+     * Prepares the process of a given comment style to all his detected files.
      *
-     * @param commentStyle comment style to treat
-     * @param filesToTreat files using this comment style to treat
-     * @throws IOException if any IO error while processing files
+     * @param commentStyle   comment style to treat
+     * @param filesToTreat   files using this comment style to treat
+     * @param filesToProcess queue of files to process where to add the files of the comment style
      */
-    private void processCommentStyle(String commentStyle, List<File> filesToTreat) throws IOException {
+    private void processCommentStyle(String commentStyle, List<File> filesToTreat, List<FileToProcess> filesToProcess) {
 
         // obtain license from definition
         License license = getLicense(getLicenseName(), true);
@@ -641,24 +947,49 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
         // use header transformer according to comment style given in header
         FileHeaderTransformer transformer = getTransformer(transformers, commentStyle);
 
-        try {
-            filesToTreat.parallelStream().forEach(file -> {
-                try {
-                    FileHeaderProcessor processor = getFileHeaderProcessor(license, transformer);
-                    processFile(processor, file);
-                } catch (IOException e) {
-                    throw new UncheckedIOException(e);
-                }
-            });
-        } catch (UncheckedIOException e) {
-            throw e.getCause();
+        // a processor is stateful, use one per thread, all of them sharing the same default header
+        ThreadLocal<FileHeaderProcessor> processors =
+                ThreadLocal.withInitial(() -> getFileHeaderProcessor(transformer));
+
+        // a scanner is immutable, share it between all threads
+        HeaderScanner scanner =
+                new HeaderScanner(ignoreTag, transformer.getProcessStartTag(), transformer.getProcessEndTag());
+
+        for (File file : filesToTreat) {
+            filesToProcess.add(new FileToProcess(file, commentStyle, processors, scanner));
         }
         filesToTreat.clear();
     }
 
-    private FileHeaderProcessor getFileHeaderProcessor(License license, FileHeaderTransformer transformer)
-            throws IOException {
-        // file header to use if no header is found on a file
+    /**
+     * Keeps in {@link #filesToTreatByCommentStyle} only the files changed since {@link #changedSince}.
+     *
+     * @throws MojoExecutionException if could not obtain the changed files from git
+     */
+    private void retainChangedFiles() throws MojoExecutionException {
+        Set<File> changedFiles;
+        try {
+            changedFiles = GitChangedFiles.getChangedFiles(getProject().getBasedir(), changedSince);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not obtain files changed since " + changedSince, e);
+        }
+        int nbFiles = 0;
+        for (List<File> files : filesToTreatByCommentStyle.values()) {
+            files.removeIf(file -> !changedFiles.contains(file.toPath().normalize().toFile()));
+            nbFiles += files.size();
+        }
+        LOG.info("Will only process {} file(s) changed since {}", nbFiles, changedSince);
+    }
+
+    /**
+     * Builds the file header to use if no header is found on a file.
+     * <p>
+     * Its license and copyright are the same for all files, so they are computed only once.
+     *
+     * @return the default file header (with no description)
+     * @throws IOException if could not obtain the license header content
+     */
+    private FileHeader newDefaultFileHeader() throws IOException {
         FileHeader header = new FileHeader();
 
         if (inceptionYear == null) {
@@ -668,40 +999,172 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
         Copyright copyright = getCopyright(copyrightStringFormat, getCopyrightOwners());
         header.setCopyright(copyright);
 
+        // obtain license from definition
+        License license = getLicense(getLicenseName(), true);
+
         String licenseContent = license.getHeaderContent(getEncoding());
         if (license.isHeaderContentTemplateAware()) {
             licenseContent = processLicenseContext(licenseContent);
         }
         header.setLicense(licenseContent);
+        return header;
+    }
 
+    private FileHeaderProcessor getFileHeaderProcessor(FileHeaderTransformer transformer) {
         UpdateFileHeaderFilter filter = new UpdateFileHeaderFilter();
         filter.setUpdateCopyright(canUpdateCopyright);
         filter.setUpdateDescription(canUpdateDescription);
         filter.setUpdateLicense(canUpdateLicense);
 
-        // update processor filter
-        return new FileHeaderProcessor(filter, header, transformer);
+        // update processor filter (description is updated for each file, so work on a copy of the default header)
+        return new FileHeaderProcessor(filter, new FileHeader(defaultFileHeader), transformer);
+    }
+
+    /**
+     * Computes a fingerprint of all the inputs used to build or check a file header.
+     * <p>
+     * If any of these inputs changes, then the {@link #fileHeaderIndex} is no more usable.
+     *
+     * @return the fingerprint of the header inputs
+     * @throws IOException if could not render the description template
+     */
+    private String getHeaderInputsFingerprint() throws IOException {
+        StringBuilder inputs = new StringBuilder();
+
+        inputs.append(defaultFileHeader.getLicense()).append('\n');
+        inputs.append(defaultFileHeader.getCopyright().getText()).append('\n');
+
+        // the description may depend on the file, use the template itself plus a rendering for the project file
+        inputs.append(descriptionTemplate0).append('\n');
+        inputs.append(descriptionRenderer.render(getDescriptionSampleFile())).append('\n');
+
+        inputs.append(getEncoding()).append('\n');
+        inputs.append(ignoreTag).append('\n');
+        inputs.append(canUpdateCopyright).append(',');
+        inputs.append(canUpdateDescription).append(',');
+        inputs.append(canUpdateLicense).append(',');
+        inputs.append(addJavaLicenseAfterPackage).append(',');
+        inputs.append(useJavaNoReformatCommentStartTag).append('\n');
+
+        for (Map.Entry<String, FileHeaderTransformer> entry : new TreeMap<>(transformers).entrySet()) {
+            FileHeaderTransformer aTransformer = entry.getValue();
+            inputs.append(entry.getKey()).append(':');
+            inputs.append(aTransformer.getProcessStartTag()).append(',');
+            inputs.append(aTransformer.getProcessEndTag()).append(',');
+            inputs.append(aTransformer.getSectionDelimiter()).append(',');
+            inputs.append(aTransformer.getCommentStartTag()).append(',');
+            inputs.append(aTransformer.getCommentEndTag()).append(',');
+            inputs.append(aTransformer.getCommentLinePrefix()).append(',');
+            inputs.append(aTransformer.getLineSeparator()).append(',');
+            inputs.append(aTransformer.isEmptyLineAfterHeader()).append(',');
+            inputs.append(aTransformer.isTrimHeaderLine()).append('\n');
+        }
+
+        // the comment style of a file is given by its extension or its name
+        for (Map.Entry<String, String> entry : extensionToCommentStyle.entrySet()) {
+            inputs.append("extension ").append(entry.getKey()).append(':');
+            inputs.append(entry.getValue()).append('\n');
+        }
+        for (Map.Entry<String, String> entry : new TreeMap<>(extraFiles).entrySet()) {
+            inputs.append("file ").append(entry.getKey()).append(':');
+            inputs.append(entry.getValue()).append('\n');
+        }
+        return DigestUtils.sha1Hex(inputs.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the parameters used to render the description template which are the same for all files (says all of
+     *      them but {@code file})
+     */
+    private Map<String, Object> getDescriptionParameters() {
+        Map<String, Object> descriptionParameters = new HashMap<>();
+        descriptionParameters.put("project", getProject());
+        descriptionParameters.put("addSvnKeyWords", addSvnKeyWords);
+        descriptionParameters.put("projectName", projectName);
+        descriptionParameters.put("inceptionYear", inceptionYear);
+        descriptionParameters.put("organizationName", organizationName);
+        return descriptionParameters;
+    }
+
+    /**
+     * @return the file used to render the description template out of any processed file (the project file)
+     */
+    private File getDescriptionSampleFile() {
+        File sampleFile = getProject().getFile();
+        if (sampleFile == null) {
+            sampleFile = getProject().getBasedir();
+        }
+        return sampleFile;
+    }
+
+    /**
+     * Records the state of a file in the {@link #fileHeaderIndex} (if used).
+     * <p>
+     * Only stable states (up to date and ignored files) are kept, any other state removes the file from the index.
+     *
+     * @param file        the processed file
+     * @param state       the state of the file
+     * @param contentHash hash of the content of the file, {@code null} if not computed
+     */
+    private void indexFile(File file, FileState state, String contentHash) {
+        if (fileHeaderIndex != null) {
+            if (state == FileState.uptodate || state == FileState.ignore) {
+                fileHeaderIndex.put(file, state, contentHash);
+            } else {
+                fileHeaderIndex.remove(file);
+            }
+        }
     }
 
     /**
-     * Process the given file (will copy it, process the clone file and finally finalizeFile after process)...
+     * Checks if the header of the given file is complete and up to date in its first {@link #headerWindowSize} bytes.
      *
      * @param processor current file processor
-     * @param file      original file to process
+     * @param file      file to check
+     * @return {@code true} if the header was found up to date in the window, {@code false} if the whole file must be
+     *      processed
+     * @throws IOException if could not read the file
+     */
+    private boolean isHeaderUptodateInWindow(FileHeaderProcessor processor, HeaderScanner scanner, File file)
+            throws IOException {
+        long time = metrics.start();
+        FileContentReader.Content content = contentReader.readPrefix(file, headerWindowSize);
+        time = metrics.lap(FileHeaderMetrics.Phase.READ, time, content.getByteCount());
+        try {
+            CharBuffer window = content.getChars();
+            HeaderScanner.Result scan = scanner.scan(window);
+            if (scan.hasIgnoreTag() || !scan.hasHeader() || scan.isDuplicateStartTag()) {
+                return false;
+            }
+            processor.process(window.subSequence(scan.getHeaderStart(), scan.getHeaderEnd()));
+        } catch (Exception e) {
+            // the whole file processing will report the problem
+            return false;
+        } finally {
+            metrics.lap(FileHeaderMetrics.Phase.PARSE, time);
+        }
+        return processor.isTouched() && !processor.isModified();
+    }
+
+    /**
+     * Process the given file (will process its content in memory and finally finalizeFile after process)...
+     *
+     * @param fileToProcess original file to process
      * @throws IOException if any IO error while processing this file
      */
-    private void processFile(FileHeaderProcessor processor, File file) throws IOException {
+    private void processFile(FileToProcess fileToProcess) throws IOException {
+        File file = fileToProcess.file;
 
-        if (processedFiles.contains(file)) {
+        if (!processedFiles.add(file)) {
             LOG.info(" - skip already processed file {}", file);
             return;
         }
 
-        // output file
-        File processFile = new File(file.getAbsolutePath() + "_" + timestamp);
-        boolean doFinalize = false;
+        long start = metrics.start();
+        NewContent processedContent = null;
         try {
-            doFinalize = processFile(processor, file, processFile);
+            processedContent = processContent(
+                    fileToProcess.processors.get(), fileToProcess.scanner, fileToProcess.commentStyle, file);
         } catch (Exception e) {
             LOG.warn(
                     "skip failed file: " + e.getMessage()
@@ -710,91 +1173,229 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
                                     : " Cause : " + e.getCause().getMessage()),
                     e);
             FileState.fail.addFile(file, result);
-            doFinalize = false;
+            indexFile(file, FileState.fail, null);
+            processedContent = null;
         } finally {
 
-            // whatever was the result, this file is treated.
-            processedFiles.add(file);
-
-            if (doFinalize) {
-                finalizeFile(file, processFile);
-            } else {
-                Files.deleteIfExists(processFile.toPath());
+            if (processedContent != null) {
+                long time = metrics.start();
+                finalizeFile(file, processedContent);
+                metrics.lap(FileHeaderMetrics.Phase.WRITE, time);
+            }
+            if (metrics.isEnabled()) {
+                metrics.addFile(fileToProcess.commentStyle, file, System.nanoTime() - start);
             }
         }
     }
 
     /**
-     * Process the given {@code file} and save the result in the given {@code processFile}.
+     * Process the content of the given {@code file} in memory.
      *
-     * @param processor   current file processor
-     * @param file        the file to process
-     * @param processFile the output processed file
-     * @return {@code true} if prepareProcessFile can be finalize, otherwise need to be delete
+     * @param processor    current file processor
+     * @param scanner      scanner of the tags of the file
+     * @param commentStyle comment style of the file
+     * @param file         the file to process
+     * @return the new content of the file if it has to be updated, {@code null} otherwise
      * @throws java.io.IOException if any pb while treatment
      */
-    private boolean processFile(FileHeaderProcessor processor, File file, File processFile) throws IOException {
+    private NewContent processContent(
+            FileHeaderProcessor processor, HeaderScanner scanner, String commentStyle, File file) throws IOException {
 
         if (getLog().isDebugEnabled()) {
             LOG.debug(" - process file {}", file);
-            LOG.debug(" - will process into file {}", processFile);
         }
 
-        // update the file header description
-        Map<String, Object> descriptionParameters = new HashMap<>();
-        descriptionParameters.put("project", getProject());
-        descriptionParameters.put("addSvnKeyWords", addSvnKeyWords);
-        descriptionParameters.put("projectName", projectName);
-        descriptionParameters.put("inceptionYear", inceptionYear);
-        descriptionParameters.put("organizationName", organizationName);
-        descriptionParameters.put("file", file);
-
-        LOG.debug("Description parameters: {}", descriptionParameters);
+        if (fileHeaderIndex != null) {
+            FileState indexedState = fileHeaderIndex.getState(file);
+            if (indexedState != null) {
+                // file not modified since it was indexed
+                LOG.debug(" - {} file (from index) {}", indexedState, file);
+                indexedState.addFile(file, result);
+                return null;
+            }
+        }
 
-        String description = freeMarkerHelper.renderTemplate(descriptionTemplate0, descriptionParameters);
+        // update the file header description
+        long time = metrics.start();
+        String description = descriptionRenderer.render(file);
         processor.updateDescription(description);
+        metrics.lap(FileHeaderMetrics.Phase.RENDER, time);
 
         LOG.debug("header description : " + processor.getFileHeaderDescription());
 
-        String content;
+        if (headerWindowSize > 0
+                && file.length() > headerWindowSize
+                && isHeaderUptodateInWindow(processor, scanner, file)) {
+            LOG.debug(" - uptodate file (from header window) {}", file);
+            FileState.uptodate.addFile(file, result);
+            indexFile(file, FileState.uptodate, null);
+            return null;
+        }
 
-        try {
+        if (streamingThreshold > 0 && file.length() > Math.max(streamingThreshold, STREAMING_WINDOW_SIZE)) {
+            time = metrics.start();
+            FileContentReader.Content window = contentReader.readPrefix(file, STREAMING_WINDOW_SIZE);
+            time = metrics.lap(FileHeaderMetrics.Phase.READ, time, window.getByteCount());
+            HeaderScanner.Result scan = scanner.scan(window.getChars());
+            int headEnd = getStreamedHeadEnd(window, scan);
+            if (headEnd != -1) {
+                LOG.debug(" - stream file {}", file);
+                try {
+                    return addOutcome(file, processContent(processor, scanner, file, window, scan, headEnd), null);
+                } finally {
+                    metrics.lap(FileHeaderMetrics.Phase.PARSE, time);
+                }
+            }
+            metrics.lap(FileHeaderMetrics.Phase.PARSE, time);
+            LOG.debug(" - could not locate the head of file in its window, will read it fully {}", file);
+        }
 
-            // check before all that file should not be skip by the ignoreTag
-            // this is a costy operation
-            // TODO-TC-20100411 We should process always from the read content not reading again from file
+        FileContentReader.Content fileContent;
+        String contentHash = null;
 
-            content = IOUtils.toString(file.toURI(), getEncoding());
+        time = metrics.start();
+        try {
+
+            // read and decode the file only once, then process always from the read content
+            fileContent = contentReader.read(file);
+            if (fileHeaderIndex != null || processedContents != null) {
+                contentHash = fileContent.sha1Hex();
+            }
 
         } catch (IOException e) {
             throw new IOException("Could not obtain content of file " + file);
         }
+        time = metrics.lap(FileHeaderMetrics.Phase.READ, time, fileContent.getByteCount());
+        CharBuffer content = fileContent.getChars();
+
+        if (fileHeaderIndex != null) {
+            FileState indexedState = fileHeaderIndex.getState(file, contentHash);
+            if (indexedState != null) {
+                // file was touched, but its content did not change since it was indexed
+                LOG.debug(" - {} file (from index) {}", indexedState, file);
+                indexedState.addFile(file, result);
+                indexFile(file, indexedState, contentHash);
+                return null;
+            }
+        }
+
+        String contentKey = null;
+        if (processedContents != null) {
+            contentKey = commentStyle + ':' + contentHash;
+            Outcome processed = processedContents.get(contentKey);
+            if (processed != null) {
+                // same content as an already processed file, reuse its outcome
+                LOG.debug(" - {} file (same content as an already processed file) {}", processed.state, file);
+                return addOutcome(file, processed, contentHash);
+            }
+        }
+
+        Outcome outcome;
+        try {
+            // locate at once the ignore tag and the process tags
+            outcome = processContent(processor, scanner, file, fileContent, scanner.scan(content), -1);
+        } finally {
+            metrics.lap(FileHeaderMetrics.Phase.PARSE, time);
+        }
+        if (contentKey != null) {
+            keepOutcome(contentKey, outcome);
+        }
+        return addOutcome(file, outcome, contentHash);
+    }
+
+    /**
+     * Adds the given {@code file} to the result with the state of the given outcome.
+     *
+     * @param file        the processed file
+     * @param outcome     outcome of the process of the file
+     * @param contentHash hash of the file content, {@code null} if not computed
+     * @return the new content of the file if it has to be updated, {@code null} otherwise
+     */
+    private NewContent addOutcome(File file, Outcome outcome, String contentHash) {
+        outcome.state.addFile(file, result);
+        indexFile(file, outcome.state, contentHash);
+        return outcome.content;
+    }
+
+    /**
+     * Keeps the outcome of a processed content to reuse it for the next files with the same content.
+     * <p>
+     * New contents are only kept up to {@link #maxProcessedContentsSize} chars, the files with the same content
+     * as a file whose new content could not be kept are processed again.
+     *
+     * @param contentKey comment style and hash of the processed content
+     * @param outcome    outcome of the process of the content
+     */
+    private void keepOutcome(String contentKey, Outcome outcome) {
+        if (outcome.content == null) {
+            processedContents.putIfAbsent(contentKey, outcome);
+            return;
+        }
+        long size = outcome.content.head.length();
+        if (processedContentsSize.addAndGet(size) > maxProcessedContentsSize
+                || processedContents.putIfAbsent(contentKey, outcome) != null) {
+            processedContentsSize.addAndGet(-size);
+        }
+    }
+
+    /**
+     * Process the given content of a file, either its whole content or the window of a streamed file.
+     *
+     * @param processor   current file processor
+     * @param scanner     scanner of the tags of the file
+     * @param file        the file to process
+     * @param fileContent the content to process
+     * @param scan        result of the scan of the content
+     * @param headEnd     for a streamed file, index of the end of the head region of its window (see
+     *                    {@link #getStreamedHeadEnd(FileContentReader.Content, HeaderScanner.Result)}), {@code -1}
+     *                    if the content is the whole file
+     * @return the outcome of the process of the file
+     * @throws java.io.IOException if any pb while treatment
+     */
+    private Outcome processContent(
+            FileHeaderProcessor processor,
+            HeaderScanner scanner,
+            File file,
+            FileContentReader.Content fileContent,
+            HeaderScanner.Result scan,
+            int headEnd)
+            throws IOException {
+        CharBuffer content = fileContent.getChars();
 
         // check that file is not marked to be ignored
-        if (content.contains(ignoreTag)) {
+        if (scan.hasIgnoreTag()) {
             LOG.info(" - ignore file (detected {}) {}", ignoreTag, file);
 
-            FileState.ignore.addFile(file, result);
+            return new Outcome(FileState.ignore, null);
+        }
 
-            return false;
+        if (scan.isDuplicateStartTag()) {
+            // could not obtain existing header
+            throw new InvalideFileHeaderException("Could not extract header on file " + file
+                    + " for reason Can only have one file header start tag : " + scanner.getStartTag());
         }
 
-        // process file to detect header
+        // process only the header region to detect header, the rest of the content is kept as is
 
-        try {
-            processor.process(content, processFile, getEncoding());
-        } catch (IllegalStateException e) {
-            // could not obtain existing header
-            throw new InvalideFileHeaderException(
-                    "Could not extract header on file " + file + " for reason " + e.getMessage());
-        } catch (Exception e) {
-            if (e instanceof InvalideFileHeaderException) {
-                throw (InvalideFileHeaderException) e;
+        boolean touched = false;
+        String processedHeader = null;
+        if (scan.hasHeader()) {
+            try {
+                processedHeader = processor.process(content.subSequence(scan.getHeaderStart(), scan.getHeaderEnd()));
+            } catch (IllegalStateException e) {
+                // could not obtain existing header
+                throw new InvalideFileHeaderException(
+                        "Could not extract header on file " + file + " for reason " + e.getMessage());
+            } catch (Exception e) {
+                if (e instanceof InvalideFileHeaderException) {
+                    throw (InvalideFileHeaderException) e;
+                }
+                throw new IOException("Could not process file " + file + " for reason " + e.getMessage());
             }
-            throw new IOException("Could not process file " + file + " for reason " + e.getMessage());
+            touched = processor.isTouched();
         }
 
-        if (processor.isTouched()) {
+        if (touched) {
 
             if (isVerbose()) {
                 LOG.info(" - header was updated for {}", file);
@@ -802,19 +1403,18 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
             if (processor.isModified()) {
 
                 // header content has changed
-                // must copy back process file to file (if not dry run)
+                // must copy back processed content to file (if not dry run)
 
-                FileState.update.addFile(file, result);
-                return true;
+                return new Outcome(
+                        FileState.update, isDryRun() ? null : newContent(fileContent, scan, processedHeader, headEnd));
             }
 
-            FileState.uptodate.addFile(file, result);
-            return false;
+            return new Outcome(FileState.uptodate, null);
         }
 
         // header was not fully (or not at all) detected in file
 
-        if (processor.isDetectHeader()) {
+        if (scan.hasStartTag()) {
 
             // file has not a valid header (found a start process atg, but
             // not an ending one), can not do anything
@@ -826,51 +1426,205 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo {
             LOG.info(" - adding license header on file {}", file);
         }
 
+        if (isDryRun()) {
+            return new Outcome(FileState.add, null);
+        }
+        if (headEnd != -1) {
+            // add the header to the first lines of the file, the following ones are kept as is
+            String head = processor.addHeader(content.subSequence(0, headEnd).toString());
+            return new Outcome(FileState.add, new NewContent(head, fileContent.getByteOffset(headEnd), true));
+        }
         // FIXME tchemit 20100409 xml files must add header after a xml prolog line
-        content = processor.addHeader(content);
+        return new Outcome(FileState.add, new NewContent(processor.addHeader(content.toString()), -1, false));
+    }
 
-        if (!isDryRun()) {
-            FileUtil.printString(processFile, content, getEncoding());
+    /**
+     * Gets the end of the region of the window of a streamed file to process in memory, the rest of the file being
+     * streamed.
+     * <p>
+     * The region ends at the end of the line of the header end tag, or if the file has no header at the end of the
+     * last complete line of the window. A header start tag without its end tag in the window may be the start of a
+     * header longer than the window, the region is then not in the window.
+     *
+     * @param window leading content of the file
+     * @param scan   result of the scan of the window
+     * @return the index of the end of the region in the window, {@code 0} if the file will not be modified, or
+     *      {@code -1} if the region is not in the window
+     */
+    static int getStreamedHeadEnd(FileContentReader.Content window, HeaderScanner.Result scan) {
+        if (scan.hasIgnoreTag() || scan.isDuplicateStartTag()) {
+            return 0;
+        }
+        if (scan.hasStartTag() && !scan.hasHeader()) {
+            return -1;
+        }
+        CharBuffer content = window.getChars();
+        // the last char of the window is never used as a line end: a \r could be followed by a \n
+        int last = content.length() - 1;
+        int lineEnd = -1;
+        if (scan.hasHeader()) {
+            for (int i = scan.getHeaderEnd(); i < last && lineEnd == -1; i++) {
+                lineEnd = isLineEnd(content.charAt(i)) ? i : -1;
+            }
+        } else {
+            for (int i = last - 1; i >= 0 && lineEnd == -1; i--) {
+                lineEnd = isLineEnd(content.charAt(i)) ? i : -1;
+            }
+        }
+        if (lineEnd == -1) {
+            return -1;
+        }
+        int headEnd = lineEnd + 1;
+        if (content.charAt(lineEnd) == '\r' && content.charAt(headEnd) == '\n') {
+            headEnd++;
         }
+        // the streamed tail is copied from the original bytes
+        return window.getByteOffset(headEnd) == -1 ? -1 : headEnd;
+    }
 
-        FileState.add.addFile(file, result);
-        return true;
+    private static boolean isLineEnd(char c) {
+        return c == '\n' || c == '\r';
     }
 
     /**
-     * Finalize the process of a file.
+     * Builds the new content of a file whose header was updated.
      * <p>
-     * If ad DryRun then just remove processed file, else use process file as original file.
+     * If the lines after the header are already written as {@link FileUtil#printString(File, String, String)} would
+     * write them, they are kept as bytes and copied back as is, instead of being encoded again.
      *
-     * @param file        the original file
-     * @param processFile the processed file
-     * @throws IOException if any IO error while finalizing file
+     * @param fileContent     original content of the file
+     * @param scan            result of the scan of the original content
+     * @param processedHeader the updated header
+     * @param streamedHeadEnd for a streamed file, index of the end of the head region of its window, {@code -1} if
+     *                        the content is the whole file
+     * @return the new content of the file
      */
-    private void finalizeFile(File file, File processFile) throws IOException {
-
-        if (isKeepBackup() && !isDryRun()) {
-            File backupFile = FileUtil.getBackupFile(file);
-
-            // always delete backup file, before the renaming
-            Files.deleteIfExists(backupFile.toPath());
+    private NewContent newContent(
+            FileContentReader.Content fileContent,
+            HeaderScanner.Result scan,
+            String processedHeader,
+            int streamedHeadEnd) {
+        CharBuffer content = fileContent.getChars();
+
+        if (streamedHeadEnd != -1) {
+            String head = new StringBuilder(streamedHeadEnd + processedHeader.length())
+                    .append(content, 0, scan.getHeaderStart())
+                    .append(processedHeader)
+                    .append(content, scan.getHeaderEnd(), streamedHeadEnd)
+                    .toString();
+            return new NewContent(head, fileContent.getByteOffset(streamedHeadEnd), true);
+        }
 
-            LOG.debug(" - backup original file {}", file);
-            Files.copy(file.toPath(), backupFile.toPath(), StandardCopyOption.COPY_ATTRIBUTES);
+        // the tail starts at the first line after the header
+        int length = content.length();
+        int tailStart = scan.getHeaderEnd();
+        while (tailStart < length && content.charAt(tailStart) != '\n' && content.charAt(tailStart) != '\r') {
+            tailStart++;
         }
+        if (tailStart < length && content.charAt(tailStart) == '\r') {
+            tailStart++;
+        }
+        if (tailStart < length && content.charAt(tailStart) == '\n') {
+            tailStart++;
+        }
+        long tailOffset = FileUtil.isPrintedAsIs(content, tailStart) ? fileContent.getByteOffset(tailStart) : -1;
+        int headEnd = tailOffset == -1 ? length : tailStart;
+
+        String head = new StringBuilder(headEnd + processedHeader.length())
+                .append(content, 0, scan.getHeaderStart())
+                .append(processedHeader)
+                .append(content, scan.getHeaderEnd(), headEnd)
+                .toString();
+        return new NewContent(head, tailOffset, false);
+    }
 
-        if (isDryRun()) {
+    /**
+     * Finalize the process of a file.
+     * <p>
+     * If ad DryRun then do nothing, else stage the processed content, to replace the content of the original file once
+     * all files are processed.
+     *
+     * @param file             the original file
+     * @param processedContent the processed content
+     */
+    private void finalizeFile(File file, NewContent processedContent) {
 
-            // dry run, delete temporary file
-            Files.deleteIfExists(processFile.toPath());
-        } else {
+        if (!isDryRun()) {
             try {
-                // replace file with the updated one
-                String updatedContent = IOUtils.toString(processFile.toURI(), getEncoding());
-                FileUtil.printString(file, updatedContent, getEncoding());
-                Files.deleteIfExists(processFile.toPath());
+                replacements.stage(
+                        file,
+                        processedContent.head,
+                        processedContent.tailOffset,
+                        processedContent.printTail,
+                        getEncoding());
             } catch (IOException e) {
-                LOG.warn("Error updating {} -> {}", processFile, file, e);
+                LOG.warn("Error updating {}", file, e);
             }
         }
     }
+
+    /**
+     * A file to process, with its comment style and the processors and the scanner of this comment style.
+     */
+    private static class FileToProcess {
+
+        private final File file;
+
+        private final String commentStyle;
+
+        private final ThreadLocal<FileHeaderProcessor> processors;
+
+        private final HeaderScanner scanner;
+
+        FileToProcess(
+                File file, String commentStyle, ThreadLocal<FileHeaderProcessor> processors, HeaderScanner scanner) {
+            this.file = file;
+            this.commentStyle = commentStyle;
+            this.processors = processors;
+            this.scanner = scanner;
+        }
+    }
+
+    /**
+     * Outcome of the process of the content of a file: its state and its new content.
+     */
+    private static class Outcome {
+
+        private final FileState state;
+
+        /**
+         * New content of the file, {@code null} if the file is not updated.
+         */
+        private final NewContent content;
+
+        Outcome(FileState state, NewContent content) {
+            this.state = state;
+            this.content = content;
+        }
+    }
+
+    /**
+     * New content of a file: a new head, followed by the original content of the file from a given offset.
+     */
+    private static class NewContent {
+
+        private final String head;
+
+        /**
+         * Offset of the original bytes to keep after the head, {@code -1} if the head is the whole new content.
+         */
+        private final long tailOffset;
+
+        /**
+         * {@code true} if the tail must be printed with the platform line separator, {@code false} if its bytes are
+         * copied as is.
+         */
+        private final boolean printTail;
+
+        NewContent(String head, long tailOffset, boolean printTail) {
+            this.head = head;
+            this.tailOffset = tailOffset;
+            this.printTail = printTail;
+        }
+    }
 }
@@ -26,7 +26,6 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +33,7 @@ import java.util.Properties;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProjectHelper;
 import org.codehaus.mojo.license.api.FreeMarkerHelper;
@@ -41,7 +41,7 @@ import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
 import org.codehaus.mojo.license.model.Copyright;
 import org.codehaus.mojo.license.model.License;
 import org.codehaus.mojo.license.model.LicenseStore;
-import org.codehaus.plexus.util.DirectoryScanner;
+import org.codehaus.mojo.license.utils.ParallelDirectoryScanner;
 import org.codehaus.plexus.util.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -188,6 +188,17 @@ public abstract class AbstractLicenseNameMojo extends AbstractLicenseMojo {
     @Parameter(property = "license.ignoreLastDate", defaultValue = "false")
     protected boolean ignoreLastDate;
 
+    /**
+     * Maximum number of files listed per state in the verbose report of processed files.
+     * <p>
+     * A negative value lists all of them. Only this number of files is kept in memory per state, which matters on
+     * very large projects.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.maxReportedFiles", defaultValue = "-1")
+    protected int maxReportedFiles;
+
     // ----------------------------------------------------------------------
     // Private Fields
     // ----------------------------------------------------------------------
@@ -217,7 +228,7 @@ public abstract class AbstractLicenseNameMojo extends AbstractLicenseMojo {
     protected void init() throws Exception {
 
         // init licenses store
-        licenseStore = LicenseStore.createLicenseStore(licenseResolver);
+        licenseStore = createLicenseStore();
 
         // check licenseName exists
         license = getLicense(licenseName, true);
@@ -227,6 +238,17 @@ public abstract class AbstractLicenseNameMojo extends AbstractLicenseMojo {
         }
     }
 
+    /**
+     * Creates the store of the available licenses, the licenses of the plugin plus the ones of the
+     * {@link #licenseResolver}.
+     *
+     * @return the store of the available licenses
+     * @throws MojoExecutionException if could not load the licenses
+     */
+    LicenseStore createLicenseStore() throws MojoExecutionException {
+        return LicenseStore.createLicenseStore(licenseResolver);
+    }
+
     // ----------------------------------------------------------------------
     // Protected Methods
     // ----------------------------------------------------------------------
@@ -300,11 +322,7 @@ public abstract class AbstractLicenseNameMojo extends AbstractLicenseMojo {
      */
     void getFilesToTreatForRoots(String[] includes, String[] excludes, List<String> roots, Map<File, String[]> files) {
 
-        DirectoryScanner ds = new DirectoryScanner();
-        ds.setIncludes(includes);
-        if (excludes != null) {
-            ds.setExcludes(excludes);
-        }
+        ParallelDirectoryScanner ds = new ParallelDirectoryScanner(includes, excludes, 0);
         for (String src : roots) {
 
             File f = new File(src);
@@ -315,29 +333,22 @@ public abstract class AbstractLicenseNameMojo extends AbstractLicenseMojo {
 
             LOG.debug("discovering source files in {}", src);
 
-            ds.setBasedir(f);
-            // scan
-            ds.scan();
-
-            // get files
-            String[] tmp = ds.getIncludedFiles();
-
-            if (tmp.length < 1) {
-                // no files found
+            // scan and get files
+            String[] tmp;
+            try {
+                tmp = ds.scan(f);
+            } catch (IOException e) {
+                LOG.warn("Could not discover source files in {}", src, e);
                 continue;
             }
 
-            List<String> toTreate = new ArrayList<>();
-
-            Collections.addAll(toTreate, tmp);
-
-            if (toTreate.isEmpty()) {
-                // no file or all are up-to-date
+            if (tmp.length < 1) {
+                // no files found
                 continue;
             }
 
             // register files
-            files.put(f, toTreate.toArray(new String[toTreate.size()]));
+            files.put(f, tmp);
         }
     }
 
@@ -389,11 +400,11 @@ public abstract class AbstractLicenseNameMojo extends AbstractLicenseMojo {
      * @param state  state of file to report
      * @param buffer where to report
      */
-    void reportType(Map<FileState, Set<File>> result, FileState state, StringBuilder buffer) {
+    void reportType(FileStateResult result, FileState state, StringBuilder buffer) {
         String operation = state.name();
 
-        Set<File> set = getFiles(result, state);
-        if (set == null || set.isEmpty()) {
+        long count = result.getCount(state);
+        if (count == 0) {
             if (isVerbose()) {
                 buffer.append("\n * no header to ");
                 buffer.append(operation);
@@ -402,19 +413,37 @@ public abstract class AbstractLicenseNameMojo extends AbstractLicenseMojo {
             return;
         }
         buffer.append("\n * ").append(operation).append(" header on ");
-        buffer.append(set.size());
-        if (set.size() == 1) {
+        buffer.append(count);
+        if (count == 1) {
             buffer.append(" file.");
         } else {
             buffer.append(" files.");
         }
         if (isVerbose()) {
-            for (File file : set) {
+            List<File> files = result.getFiles(state);
+            for (File file : files) {
                 buffer.append("\n   - ").append(file);
             }
+            if (files.size() < count) {
+                buffer.append("\n   - ... and ").append(count - files.size()).append(" more.");
+            }
         }
     }
 
+    /**
+     * Creates the collector of processed files.
+     * <p>
+     * Files are only retained in verbose mode (at most {@link #maxReportedFiles} per state) and for the given
+     * {@code fullStates}.
+     *
+     * @param fullStates states for which all files must be retained
+     * @return the new result collector
+     * @since 2.8.0
+     */
+    FileStateResult newFileStateResult(Set<FileState> fullStates) {
+        return new FileStateResult(isVerbose() ? maxReportedFiles : 0, fullStates);
+    }
+
     /**
      * Gets all files to process indexed by their comment style.
      *
@@ -478,8 +507,7 @@ public abstract class AbstractLicenseNameMojo extends AbstractLicenseMojo {
                 if (StringUtils.isEmpty(commentStyle)) {
 
                     // unknown extension, try with extra files
-                    File file = new File(root, path);
-                    commentStyle = extraFiles.get(file.getName());
+                    commentStyle = extraFiles.get(path.substring(path.lastIndexOf(File.separatorChar) + 1));
                     if (StringUtils.isEmpty(commentStyle)) {
                         // do not treat this file
                         continue;
@@ -494,16 +522,6 @@ public abstract class AbstractLicenseNameMojo extends AbstractLicenseMojo {
         return results;
     }
 
-    /**
-     * Gets all files for the given {@code state}.
-     *
-     * @param state state of files to get
-     * @return all files of the given state
-     */
-    private Set<File> getFiles(Map<FileState, Set<File>> result, FileState state) {
-        return result.get(state);
-    }
-
     // ----------------------------------------------------------------------
     // Private Methods
     // ----------------------------------------------------------------------
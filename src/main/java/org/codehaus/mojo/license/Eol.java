@@ -23,9 +23,11 @@ package org.codehaus.mojo.license;
  */
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * End of line values
@@ -60,9 +62,73 @@ public enum Eol {
         }
     };
 
+    /**
+     * Detects the end of line used in the given file from its first line end.
+     * <p>
+     * The file is not decoded: its bytes are read through a small buffer, looking for the encoded {@code \r} and
+     * {@code \n} units, and reading stops at the first of them.
+     *
+     * @param file    the file to read
+     * @param charset the charset of the file
+     * @return {@link #CRLF} if the first line of the file ends with {@code \r}, {@link #LF} otherwise
+     * @throws IOException if could not read the file
+     */
     public static Eol autodetect(Path file, Charset charset) throws IOException {
-        final String content = new String(Files.readAllBytes(file), charset);
-        return content.indexOf('\r') >= 0 ? Eol.CRLF : Eol.LF;
+        byte[] cr = encodeUnit('\r', charset);
+        byte[] lf = encodeUnit('\n', charset);
+        int unit = lf.length;
+        if (unit == 0 || cr.length != unit) {
+            // should not happen, but decode the file in such a case
+            final String content = new String(Files.readAllBytes(file), charset);
+            return content.indexOf('\r') >= 0 ? Eol.CRLF : Eol.LF;
+        }
+
+        // read whole units only, so that a unit is never split between two reads
+        byte[] buffer = new byte[8192 / unit * unit];
+        try (InputStream in = Files.newInputStream(file)) {
+            int length;
+            while ((length = readUnits(in, buffer)) > 0) {
+                for (int i = 0; i + unit <= length; i += unit) {
+                    if (matches(buffer, i, cr)) {
+                        return Eol.CRLF;
+                    }
+                    if (matches(buffer, i, lf)) {
+                        return Eol.LF;
+                    }
+                }
+            }
+        }
+        return Eol.LF;
+    }
+
+    /**
+     * @param c       a char
+     * @param charset a charset
+     * @return the bytes of the given char encoded in the given charset, without any byte order mark
+     */
+    private static byte[] encodeUnit(char c, Charset charset) {
+        byte[] one = String.valueOf(c).getBytes(charset);
+        byte[] two = new String(new char[] {c, c}).getBytes(charset);
+        int unit = two.length - one.length;
+        return unit <= 0 ? new byte[0] : Arrays.copyOfRange(one, one.length - unit, one.length);
+    }
+
+    private static int readUnits(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        int read;
+        while (length < buffer.length && (read = in.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+        }
+        return length;
+    }
+
+    private static boolean matches(byte[] buffer, int offset, byte[] unit) {
+        for (int i = 0; i < unit.length; i++) {
+            if (buffer[offset + i] != unit[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private final String eolString;
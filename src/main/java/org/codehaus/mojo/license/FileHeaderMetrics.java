@@ -0,0 +1,352 @@
+package org.codehaus.mojo.license;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe collector of timing and throughput metrics of the header goals, written as a JSON report.
+ * <p>
+ * Times of the phases done per file are cumulated over all the threads, so their sum may be greater than the wall
+ * time of the goal. When not enabled, nothing is collected and {@link #start()} and {@link #lap(Phase, long)} do not
+ * even read the clock.
+ *
+ * @since 2.8.0
+ */
+public class FileHeaderMetrics {
+
+    /**
+     * Number of slowest files and directories reported.
+     */
+    private static final int SLOWEST_COUNT = 20;
+
+    /**
+     * Phases of the header goals.
+     */
+    public enum Phase {
+        /** Discovery of the files to process. */
+        DISCOVERY,
+        /** Read and decode of the files. */
+        READ,
+        /** Render of the description template. */
+        RENDER,
+        /** Location of the header tags, parse of the existing header and comparison with the expected one. */
+        PARSE,
+        /** Write of the new content of the updated files. */
+        WRITE,
+        /** Replacement of the updated files. */
+        FINALIZE
+    }
+
+    private final boolean enabled;
+
+    private final Map<Phase, LongAdder> times = new EnumMap<>(Phase.class);
+
+    private final Map<Phase, LongAdder> bytes = new EnumMap<>(Phase.class);
+
+    private final Map<String, StyleMetrics> styles = new ConcurrentHashMap<>();
+
+    private final Queue<FileTime> fileTimes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param enabled {@code true} to collect metrics
+     */
+    public FileHeaderMetrics(boolean enabled) {
+        this.enabled = enabled;
+        for (Phase phase : Phase.values()) {
+            times.put(phase, new LongAdder());
+            bytes.put(phase, new LongAdder());
+        }
+    }
+
+    /**
+     * @return {@code true} if metrics are collected
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the start time of a phase
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Ends a phase.
+     *
+     * @param phase the ended phase
+     * @param start start time of the phase
+     * @return the end time of the phase, to use as start time of the next phase
+     */
+    public long lap(Phase phase, long start) {
+        return lap(phase, start, 0L);
+    }
+
+    /**
+     * Ends a phase which processed some bytes.
+     *
+     * @param phase     the ended phase
+     * @param start     start time of the phase
+     * @param byteCount number of bytes processed by the phase
+     * @return the end time of the phase, to use as start time of the next phase
+     */
+    public long lap(Phase phase, long start, long byteCount) {
+        if (!enabled) {
+            return 0L;
+        }
+        long end = System.nanoTime();
+        times.get(phase).add(end - start);
+        bytes.get(phase).add(byteCount);
+        return end;
+    }
+
+    /**
+     * Records the processing of a file.
+     *
+     * @param commentStyle comment style of the file
+     * @param file         the processed file
+     * @param time         time spent to process the file, in nanoseconds
+     */
+    public void addFile(String commentStyle, File file, long time) {
+        if (!enabled) {
+            return;
+        }
+        StyleMetrics style = styles.computeIfAbsent(commentStyle, k -> new StyleMetrics());
+        style.files.increment();
+        style.bytes.add(file.length());
+        style.time.add(time);
+        fileTimes.add(new FileTime(file, commentStyle, time));
+    }
+
+    /**
+     * Writes the collected metrics as JSON.
+     *
+     * @param reportFile where to write the report
+     * @param baseDir    directory to which paths are written relatively
+     * @param threads    number of threads used to process the files
+     * @param wallTime   wall time of the goal, in nanoseconds
+     * @param result     processed files by their state
+     * @throws IOException if could not write the report
+     */
+    public void write(File reportFile, File baseDir, int threads, long wallTime, FileStateResult result)
+            throws IOException {
+        List<FileTime> files = new ArrayList<>(fileTimes);
+        files.sort(Comparator.comparingLong((FileTime fileTime) -> fileTime.time).reversed());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("threads", threads);
+        report.put("wallTimeMs", millis(wallTime));
+        report.put("files", files.size());
+
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("timeMs", millis(times.get(phase).sum()));
+            values.put("bytes", bytes.get(phase).sum());
+            phases.put(phase.name().toLowerCase(Locale.ROOT), values);
+        }
+        report.put("phases", phases);
+
+        Map<String, Object> states = new LinkedHashMap<>();
+        for (FileState state : FileState.values()) {
+            states.put(state.name(), result.getCount(state));
+        }
+        report.put("states", states);
+
+        Map<String, Object> commentStyles = new TreeMap<>();
+        for (Map.Entry<String, StyleMetrics> entry : styles.entrySet()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("files", entry.getValue().files.sum());
+            values.put("bytes", entry.getValue().bytes.sum());
+            values.put("timeMs", millis(entry.getValue().time.sum()));
+            commentStyles.put(entry.getKey(), values);
+        }
+        report.put("commentStyles", commentStyles);
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50Ms", millis(percentile(files, 50)));
+        latency.put("p99Ms", millis(percentile(files, 99)));
+        latency.put("maxMs", millis(percentile(files, 100)));
+        report.put("latency", latency);
+
+        List<Object> slowestFiles = new ArrayList<>();
+        for (FileTime fileTime : files.subList(0, Math.min(SLOWEST_COUNT, files.size()))) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("file", relativize(baseDir, fileTime.file));
+            values.put("commentStyle", fileTime.commentStyle);
+            values.put("timeMs", millis(fileTime.time));
+            slowestFiles.add(values);
+        }
+        report.put("slowestFiles", slowestFiles);
+
+        // number of files and time per directory
+        Map<File, long[]> directories = new HashMap<>();
+        for (FileTime fileTime : files) {
+            long[] values = directories.computeIfAbsent(fileTime.file.getParentFile(), k -> new long[2]);
+            values[0]++;
+            values[1] += fileTime.time;
+        }
+        List<Map.Entry<File, long[]>> sortedDirectories = new ArrayList<>(directories.entrySet());
+        sortedDirectories.sort(
+                Comparator.comparingLong((Map.Entry<File, long[]> entry) -> entry.getValue()[1]).reversed());
+        List<Object> slowestDirectories = new ArrayList<>();
+        for (Map.Entry<File, long[]> entry :
+                sortedDirectories.subList(0, Math.min(SLOWEST_COUNT, sortedDirectories.size()))) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("directory", relativize(baseDir, entry.getKey()));
+            values.put("files", entry.getValue()[0]);
+            values.put("timeMs", millis(entry.getValue()[1]));
+            slowestDirectories.add(values);
+        }
+        report.put("slowestDirectories", slowestDirectories);
+
+        Path path = reportFile.toPath();
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeJson(writer, report, "");
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * @param files      files sorted from the slowest one
+     * @param percentile a percentile
+     * @return the time under which the given percent of files were processed (nearest-rank method)
+     */
+    static long percentile(List<FileTime> files, int percentile) {
+        if (files.isEmpty()) {
+            return 0L;
+        }
+        int rank = (int) Math.ceil(percentile / 100d * files.size());
+        return files.get(files.size() - Math.max(rank, 1)).time;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static String relativize(File baseDir, File file) {
+        Path path = file.toPath().toAbsolutePath();
+        Path base = baseDir.toPath().toAbsolutePath();
+        return (path.startsWith(base) ? base.relativize(path) : path).toString().replace('\\', '/');
+    }
+
+    private static void writeJson(Writer writer, Object value, String indent) throws IOException {
+        if (value instanceof Map) {
+            writer.write('{');
+            String separator = "\n";
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                writer.write(separator);
+                writer.write(indent + "  ");
+                writeString(writer, entry.getKey().toString());
+                writer.write(": ");
+                writeJson(writer, entry.getValue(), indent + "  ");
+                separator = ",\n";
+            }
+            writer.write(((Map<?, ?>) value).isEmpty() ? "}" : "\n" + indent + "}");
+        } else if (value instanceof List) {
+            writer.write('[');
+            String separator = "\n";
+            for (Object item : (List<?>) value) {
+                writer.write(separator);
+                writer.write(indent + "  ");
+                writeJson(writer, item, indent + "  ");
+                separator = ",\n";
+            }
+            writer.write(((List<?>) value).isEmpty() ? "]" : "\n" + indent + "]");
+        } else if (value instanceof Double) {
+            writer.write(String.format(Locale.ROOT, "%.3f", (Double) value));
+        } else if (value instanceof Number) {
+            writer.write(value.toString());
+        } else {
+            writeString(writer, String.valueOf(value));
+        }
+    }
+
+    private static void writeString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+
+    /**
+     * Metrics of a comment style.
+     */
+    private static class StyleMetrics {
+
+        private final LongAdder files = new LongAdder();
+
+        private final LongAdder bytes = new LongAdder();
+
+        private final LongAdder time = new LongAdder();
+    }
+
+    /**
+     * Time spent to process a file.
+     */
+    static class FileTime {
+
+        private final File file;
+
+        private final String commentStyle;
+
+        private final long time;
+
+        FileTime(File file, String commentStyle, long time) {
+            this.file = file;
+            this.commentStyle = commentStyle;
+            this.time = time;
+        }
+    }
+}
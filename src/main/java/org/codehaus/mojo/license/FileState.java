@@ -23,9 +23,6 @@ package org.codehaus.mojo.license;
  */
 
 import java.io.File;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Defines state of a file after process.
@@ -65,12 +62,13 @@ public enum FileState {
     fail;
 
     /**
-     * Register a file for this state on result dictionary.
+     * Register a file for this state on the given result collector.
      *
      * @param file    file to add
-     * @param results dictionary to update
+     * @param results result collector to update
+     * @since 2.8.0
      */
-    public void addFile(File file, Map<FileState, Set<File>> results) {
-        results.computeIfAbsent(this, k -> ConcurrentHashMap.newKeySet()).add(file);
+    public void addFile(File file, FileStateResult results) {
+        results.add(this, file);
     }
 }
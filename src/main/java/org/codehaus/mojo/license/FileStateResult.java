@@ -0,0 +1,142 @@
+package org.codehaus.mojo.license;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe collector of processed files indexed by their {@link FileState}.
+ * <p>
+ * Each state owns a striped counter, so the number of files per state is always known. Files themselves are only
+ * retained up to a given sample size, except for the states explicitly asked to keep all their files (for example
+ * to report them in a failure message).
+ * <p>
+ * All internal structures are created in the constructor, so instances can be shared by several threads without
+ * any further synchronization.
+ *
+ * @since 2.8.0
+ */
+public class FileStateResult {
+
+    /**
+     * Number of files per state.
+     */
+    private final Map<FileState, LongAdder> counters = new EnumMap<>(FileState.class);
+
+    /**
+     * Retained files per state.
+     */
+    private final Map<FileState, Queue<File>> files = new EnumMap<>(FileState.class);
+
+    /**
+     * Number of retained file slots already taken per state.
+     */
+    private final Map<FileState, AtomicInteger> slots = new EnumMap<>(FileState.class);
+
+    /**
+     * Maximum number of files to retain per state (a negative value retains all of them).
+     */
+    private final int sampleSize;
+
+    /**
+     * States for which all files are retained, whatever the sample size is.
+     */
+    private final Set<FileState> fullStates;
+
+    /**
+     * @param sampleSize maximum number of files to retain per state, {@code 0} to retain none and a negative value
+     *                   to retain all of them
+     * @param fullStates states for which all files must be retained
+     */
+    public FileStateResult(int sampleSize, Set<FileState> fullStates) {
+        this.sampleSize = sampleSize;
+        this.fullStates = fullStates.isEmpty() ? EnumSet.noneOf(FileState.class) : EnumSet.copyOf(fullStates);
+        for (FileState state : FileState.values()) {
+            counters.put(state, new LongAdder());
+            files.put(state, new ConcurrentLinkedQueue<>());
+            slots.put(state, new AtomicInteger());
+        }
+    }
+
+    /**
+     * Register a file for the given state.
+     *
+     * @param state state of the file
+     * @param file  file to register
+     */
+    public void add(FileState state, File file) {
+        counters.get(state).increment();
+        if (isRetained(state)) {
+            files.get(state).add(file);
+        }
+    }
+
+    /**
+     * @param state state to count
+     * @return number of files registered for the given state
+     */
+    public long getCount(FileState state) {
+        return counters.get(state).sum();
+    }
+
+    /**
+     * @param state state of files to get
+     * @return the retained files of the given state, may contain less files than {@link #getCount(FileState)}
+     */
+    public List<File> getFiles(FileState state) {
+        return new ArrayList<>(files.get(state));
+    }
+
+    /**
+     * @return all states with at least one registered file
+     */
+    public Set<FileState> getStates() {
+        Set<FileState> states = EnumSet.noneOf(FileState.class);
+        for (FileState state : FileState.values()) {
+            if (getCount(state) > 0) {
+                states.add(state);
+            }
+        }
+        return Collections.unmodifiableSet(states);
+    }
+
+    private boolean isRetained(FileState state) {
+        if (sampleSize < 0 || fullStates.contains(state)) {
+            return true;
+        }
+        AtomicInteger slot = slots.get(state);
+        return slot.get() < sampleSize && slot.getAndIncrement() < sampleSize;
+    }
+}
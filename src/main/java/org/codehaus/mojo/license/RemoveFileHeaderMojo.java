@@ -26,14 +26,14 @@ import javax.inject.Inject;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.EnumMap;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import freemarker.template.Template;
 import org.apache.commons.io.IOUtils;
@@ -43,9 +43,10 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProjectHelper;
 import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
 import org.codehaus.mojo.license.model.License;
-import org.codehaus.mojo.license.utils.FileUtil;
+import org.codehaus.mojo.license.utils.ConcurrentFileProcessor;
+import org.codehaus.mojo.license.utils.FileContentReader;
+import org.codehaus.mojo.license.utils.FileReplacementBatch;
 import org.codehaus.mojo.license.utils.MojoHelper;
-import org.codehaus.plexus.util.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -179,6 +180,42 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo {
     @Parameter(property = "license.ignoreTag")
     private String ignoreTag;
 
+    /**
+     * Number of threads used to process files.
+     * <p>
+     * If not set (or lower than {@code 1}), will use as many threads as available processors.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Number of leading bytes of a file read to detect its header, {@code 0} to always read whole files.
+     * <p>
+     * When set, a file whose first bytes contain neither the comment start tag of its comment style nor the
+     * {@link #ignoreTag} is considered to have no header, and is not read any further: it is reported up to date. So
+     * unlike when the whole file is read, a comment starting after these bytes is not removed as a header, and a
+     * file whose ignore tag follows these bytes is reported up to date instead of ignored.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(property = "license.headerWindowSize", defaultValue = "0")
+    private int headerWindowSize;
+
+    /**
+     * Directory where the files without header are written before they replace the original files.
+     * <p>
+     * Files are only replaced once all files were processed, each run using its own sub directory removed at the end
+     * of the run. If the build is killed before, the original files are left untouched.
+     *
+     * @since 2.8.0
+     */
+    @Parameter(
+            property = "license.stagingDirectory",
+            defaultValue = "${project.build.directory}/license/file-header-staging")
+    private File stagingDirectory;
+
     // ----------------------------------------------------------------------
     // Plexus components
     // ----------------------------------------------------------------------
@@ -214,13 +251,23 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo {
     /**
      * Dictionary of treated files indexed by their state.
      */
-    private EnumMap<FileState, Set<File>> result;
+    private FileStateResult result;
 
     /**
      * Dictionary of files to treat indexed by their CommentStyle.
      */
     private Map<String, List<File>> filesToTreatByCommentStyle;
 
+    /**
+     * Reader of the header windows of the files.
+     */
+    private FileContentReader contentReader;
+
+    /**
+     * Files without header, to replace the original files once all files are processed.
+     */
+    private FileReplacementBatch replacements;
+
     @Inject
     public RemoveFileHeaderMojo(Map<String, FileHeaderTransformer> transformers, MavenProjectHelper projectHelper) {
         super(projectHelper);
@@ -343,20 +390,47 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo {
 
         long t0 = System.nanoTime();
 
-        processedFiles = new HashSet<>();
-        result = new EnumMap<>(FileState.class);
+        processedFiles = ConcurrentHashMap.newKeySet();
+        result = newFileStateResult(EnumSet.noneOf(FileState.class));
+        contentReader = new FileContentReader(getEncoding());
+        replacements =
+                new FileReplacementBatch(new File(stagingDirectory, String.valueOf(timestamp)), "_" + timestamp, false);
 
         try {
 
+            // files of all comment styles go in a single queue, so all threads are kept busy until the end
+            List<FileToProcess> filesToProcess = new ArrayList<>();
+
             for (Map.Entry<String, List<File>> commentStyleFiles : filesToTreatByCommentStyle.entrySet()) {
 
                 String commentStyle = commentStyleFiles.getKey();
                 List<File> files = commentStyleFiles.getValue();
 
-                processCommentStyle(commentStyle, files);
+                processCommentStyle(commentStyle, files, filesToProcess);
+            }
+
+            ConcurrentFileProcessor<FileToProcess> fileProcessor =
+                    new ConcurrentFileProcessor<>(threads, "license-remove");
+            if (isVerbose()) {
+                LOG.info(
+                        "Will process {} file(s) with {} thread(s)",
+                        filesToProcess.size(),
+                        fileProcessor.getThreads());
+            }
+            fileProcessor.process(
+                    filesToProcess, fileToProcess -> processFile(fileToProcess.transformer, fileToProcess.file));
+            fileProcessor.logStats(isVerbose());
+
+            // all files were processed, replace the updated ones
+            int replaced = replacements.commit(isKeepBackup());
+            if (isVerbose()) {
+                LOG.info("Replaced {} file(s)", replaced);
             }
 
         } finally {
+            // remove the temporary files if processing failed
+            replacements.rollback();
+
             int nbFiles = processedFiles.size();
             if (nbFiles == 0 && !ignoreNoFileToScan) {
                 LOG.warn("No file to scan.");
@@ -364,7 +438,7 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo {
                 String delay = MojoHelper.convertTime(System.nanoTime() - t0);
                 LOG.info("Scanned {} file headers in {}.", nbFiles, delay);
             }
-            Set<FileState> states = result.keySet();
+            Set<FileState> states = result.getStates();
             if (states.size() == 1 && states.contains(FileState.uptodate)) {
                 // all files where up to date
                 LOG.info("All files are up-to-date.");
@@ -386,13 +460,13 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo {
     }
 
     /**
-     * Process a given comment style to all his detected files.
+     * Prepares the process of a given comment style to all his detected files.
      *
-     * @param commentStyle comment style to treat
-     * @param filesToTreat files using this comment style to treat
-     * @throws IOException if any IO error while processing files
+     * @param commentStyle   comment style to treat
+     * @param filesToTreat   files using this comment style to treat
+     * @param filesToProcess queue of files to process where to add the files of the comment style
      */
-    private void processCommentStyle(String commentStyle, List<File> filesToTreat) throws IOException {
+    private void processCommentStyle(String commentStyle, List<File> filesToTreat, List<FileToProcess> filesToProcess) {
 
         // obtain license from definition
         License license = getLicense(getLicenseName(), true);
@@ -406,12 +480,29 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo {
         FileHeaderTransformer transformer = getTransformer(transformers, commentStyle);
 
         for (File file : filesToTreat) {
-            processFile(transformer, file);
+            filesToProcess.add(new FileToProcess(file, transformer));
         }
         filesToTreat.clear();
     }
 
-    private boolean processFile(FileHeaderTransformer transformer, File file, File processFile) throws IOException {
+    /**
+     * Removes the header of the given file.
+     *
+     * @param transformer current file header transformer
+     * @param file        the file to process
+     * @return the content of the file without its header, {@code null} if the file is not modified
+     * @throws IOException if could not read the file
+     */
+    private String processContent(FileHeaderTransformer transformer, File file) throws IOException {
+
+        if (headerWindowSize > 0 && file.length() > headerWindowSize) {
+            String window = contentReader.readPrefix(file, headerWindowSize).getChars().toString();
+            if (!window.contains(transformer.getCommentStartTag()) && !window.contains(ignoreTag)) {
+                // no header in the first bytes of the file
+                FileState.uptodate.addFile(file, result);
+                return null;
+            }
+        }
 
         String content;
 
@@ -427,7 +518,7 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo {
 
             FileState.ignore.addFile(file, result);
 
-            return false;
+            return null;
         }
 
         String commentStartTag = transformer.getCommentStartTag();
@@ -435,7 +526,7 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo {
         if (firstIndex == -1) {
 
             FileState.uptodate.addFile(file, result);
-            return false;
+            return null;
         }
 
         char lastchar = ' ';
@@ -446,7 +537,7 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo {
         int lastIndex = content.indexOf(commentEndTag);
         if (lastIndex == -1) {
             FileState.uptodate.addFile(file, result);
-            return false;
+            return null;
         }
         lastchar = ' ';
         while (lastchar != '\n') {
@@ -457,15 +548,13 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo {
             LOG.info(" - header was removed for {}", file);
         }
 
-        String contentWithoutHeader = content.substring(0, firstIndex) + content.substring(lastIndex + 1);
-
-        FileUtils.fileWrite(processFile, contentWithoutHeader);
         FileState.remove.addFile(file, result);
-        return true;
+        return content.substring(0, firstIndex) + content.substring(lastIndex + 1);
     }
 
     /**
-     * Process the given file (will copy it, process the clone file and finally finalizeFile after process)...
+     * Process the given file, staging its content without header to replace the original file once all files are
+     * processed.
      *
      * @param transformer current file header transformer
      * @param file        original file to process
@@ -473,16 +562,14 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo {
      */
     private void processFile(FileHeaderTransformer transformer, File file) throws IOException {
 
-        if (processedFiles.contains(file)) {
+        if (!processedFiles.add(file)) {
             LOG.info(" - skip already processed file {}", file);
             return;
         }
 
-        // output file
-        File processFile = new File(file.getAbsolutePath() + "_" + timestamp);
-        boolean doFinalize = false;
+        String contentWithoutHeader;
         try {
-            doFinalize = processFile(transformer, file, processFile);
+            contentWithoutHeader = processContent(transformer, file);
         } catch (Exception e) {
             LOG.warn(
                     "skip failed file: {}{}",
@@ -490,52 +577,30 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo {
                     e.getCause() == null ? "" : " Cause : " + e.getCause().getMessage(),
                     e);
             FileState.fail.addFile(file, result);
-            doFinalize = false;
-        } finally {
-
-            // whatever was the result, this file is treated.
-            processedFiles.add(file);
+            return;
+        }
 
-            if (doFinalize) {
-                finalizeFile(file, processFile);
-            } else {
-                Files.deleteIfExists(processFile.toPath());
+        if (contentWithoutHeader != null && !isDryRun()) {
+            try {
+                replacements.stage(file, contentWithoutHeader, getEncoding());
+            } catch (IOException e) {
+                LOG.warn("Error updating {}", file, e);
             }
         }
     }
 
     /**
-     * Finalize the process of a file.
-     * <p>
-     * If ad DryRun then just remove processed file, else use process file as original file.
-     *
-     * @param file        the original file
-     * @param processFile the processed file
-     * @throws IOException if any IO error while finalizing file
+     * A file to process, with the transformer of its comment style.
      */
-    private void finalizeFile(File file, File processFile) throws IOException {
+    private static class FileToProcess {
 
-        if (isKeepBackup() && !isDryRun()) {
-            File backupFile = FileUtil.getBackupFile(file);
+        private final File file;
 
-            // always delete backup file, before the renaming
-            Files.deleteIfExists(backupFile.toPath());
+        private final FileHeaderTransformer transformer;
 
-            LOG.debug(" - backup original file {}", file);
-            FileUtil.renameFile(file, backupFile);
-        }
-
-        if (isDryRun()) {
-
-            // dry run, delete temporary file
-            Files.deleteIfExists(processFile.toPath());
-        } else {
-            try {
-                // replace file with the updated one
-                FileUtil.renameFile(processFile, file);
-            } catch (IOException e) {
-                LOG.warn(e.getMessage(), e);
-            }
+        FileToProcess(File file, FileHeaderTransformer transformer) {
+            this.file = file;
+            this.transformer = transformer;
         }
     }
 }
@@ -0,0 +1,181 @@
+package org.codehaus.mojo.license.api;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import freemarker.template.ObjectWrapper;
+import freemarker.template.SimpleHash;
+import freemarker.template.Template;
+import freemarker.template.TemplateCollectionModel;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateHashModelEx;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+
+/**
+ * Renders a template for many files, when all its parameters but the file are the same for all files.
+ * <p>
+ * The shared parameters are wrapped only once into template models, then each rendering only binds the file. The
+ * template is first rendered for a sample file: if the file parameter was not used by the template, then this
+ * rendering is reused for all files, without rendering the template again.
+ * <p>
+ * Instances can be used by several threads.
+ *
+ * @since 2.8.0
+ */
+public class FileTemplateRenderer {
+
+    private final Template template;
+
+    private final ObjectWrapper wrapper;
+
+    /**
+     * Shared parameters, already wrapped.
+     */
+    private final Map<String, TemplateModel> sharedModels = new LinkedHashMap<>();
+
+    /**
+     * Name of the file parameter.
+     */
+    private final String fileParameter;
+
+    /**
+     * The rendering for all files, {@code null} if the template uses the file parameter.
+     */
+    private final String fileInvariantRendering;
+
+    /**
+     * @param template         the template to render
+     * @param sharedParameters the parameters which are the same for all files
+     * @param fileParameter    name of the parameter holding the file
+     * @param sampleFile       file used to detect if the template uses the file parameter
+     * @throws IOException if could not render the template
+     */
+    public FileTemplateRenderer(
+            Template template, Map<String, Object> sharedParameters, String fileParameter, File sampleFile)
+            throws IOException {
+        this.template = template;
+        this.wrapper = template.getObjectWrapper();
+        this.fileParameter = fileParameter;
+        try {
+            for (Map.Entry<String, Object> entry : sharedParameters.entrySet()) {
+                sharedModels.put(entry.getKey(), wrapper.wrap(entry.getValue()));
+            }
+        } catch (TemplateModelException e) {
+            throw new IOException("Could not render template " + template.getName() + " for reason " + e.getMessage());
+        }
+
+        FileModel sampleModel = new FileModel(sampleFile);
+        String sampleRendering = render(sampleModel);
+        fileInvariantRendering = sampleModel.fileUsed ? null : sampleRendering;
+    }
+
+    /**
+     * @return {@code true} if the template renders the same for all files
+     */
+    public boolean isFileInvariant() {
+        return fileInvariantRendering != null;
+    }
+
+    /**
+     * Renders the template for the given file.
+     *
+     * @param file the file to render the template for
+     * @return the rendered template
+     * @throws IOException if could not render the template
+     */
+    public String render(File file) throws IOException {
+        if (fileInvariantRendering != null) {
+            return fileInvariantRendering;
+        }
+        return render(new FileModel(file));
+    }
+
+    private String render(FileModel model) throws IOException {
+        StringWriter out = new StringWriter();
+        try {
+            template.process(model, out);
+        } catch (TemplateException e) {
+            throw new IOException("Could not render template " + template.getName() + " for reason " + e.getMessage());
+        }
+        return out.toString();
+    }
+
+    /**
+     * Data model of a rendering: the shared models plus the file, recording if the file was used.
+     */
+    private class FileModel implements TemplateHashModelEx {
+
+        private final File file;
+
+        private boolean fileUsed;
+
+        FileModel(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public TemplateModel get(String key) throws TemplateModelException {
+            if (fileParameter.equals(key)) {
+                fileUsed = true;
+                return wrapper.wrap(file);
+            }
+            return sharedModels.get(key);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public int size() {
+            return toHash().size();
+        }
+
+        @Override
+        public TemplateCollectionModel keys() throws TemplateModelException {
+            return toHash().keys();
+        }
+
+        @Override
+        public TemplateCollectionModel values() throws TemplateModelException {
+            return toHash().values();
+        }
+
+        private SimpleHash toHash() {
+            // the template iterates over all parameters, so the file may be used
+            fileUsed = true;
+            Map<String, Object> parameters = new HashMap<>(sharedModels);
+            parameters.put(fileParameter, file);
+            return new SimpleHash(parameters, wrapper);
+        }
+    }
+}
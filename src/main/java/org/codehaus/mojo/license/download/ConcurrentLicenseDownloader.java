@@ -0,0 +1,215 @@
+package org.codehaus.mojo.license.download;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.codehaus.mojo.license.download.LicenseDownloader.LicenseDownloadResult;
+import org.codehaus.mojo.license.utils.ConcurrentFileProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Downloads license files from several threads, ahead of the processing of their results.
+ * <p>
+ * Downloads are first added with {@link #add(String, FileNameEntry)}, then all done at once by
+ * {@link #downloadAll()}, at most {@code maxDownloadsPerHost} at a time from a single host. Their results are then
+ * taken one by one with {@link #take(String)} in the order of the caller, so that the results do not depend on the
+ * order in which the downloads completed.
+ *
+ * @since 2.8.0
+ */
+public class ConcurrentLicenseDownloader {
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrentLicenseDownloader.class);
+
+    private final LicenseDownloader downloader;
+
+    private final ConcurrentFileProcessor<Download> processor;
+
+    private final int maxDownloadsPerHost;
+
+    /**
+     * Permits of downloads from each host.
+     */
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    /**
+     * Downloads indexed by their URL, in the order they were added.
+     */
+    private final Map<String, Download> downloads = new LinkedHashMap<>();
+
+    /**
+     * @param downloader          the downloader of a single license file
+     * @param threads             number of download threads
+     * @param maxDownloadsPerHost maximum number of downloads from a single host at once, if lower than {@code 1} then
+     *                            downloads from a single host are only limited by the number of threads
+     */
+    public ConcurrentLicenseDownloader(LicenseDownloader downloader, int threads, int maxDownloadsPerHost) {
+        this.downloader = downloader;
+        this.processor = new ConcurrentFileProcessor<>(threads, "license-download");
+        this.maxDownloadsPerHost = maxDownloadsPerHost < 1 ? processor.getThreads() : maxDownloadsPerHost;
+    }
+
+    /**
+     * Adds a license file to download.
+     *
+     * @param licenseUrlString the URL of the license
+     * @param fileNameEntry    where to store the license file
+     * @return {@code true} if the download was added, {@code false} if a download from this URL was already added
+     */
+    public boolean add(String licenseUrlString, FileNameEntry fileNameEntry) {
+        if (downloads.containsKey(licenseUrlString)) {
+            return false;
+        }
+        downloads.put(licenseUrlString, new Download(licenseUrlString, fileNameEntry));
+        return true;
+    }
+
+    /**
+     * Downloads all the license files added and not yet downloaded.
+     * <p>
+     * The failure of a download does not stop the others, it is thrown back when its result is taken.
+     *
+     * @throws IOException if the downloads were interrupted
+     */
+    public void downloadAll() throws IOException {
+        List<Download> pending = new ArrayList<>();
+        for (Download download : downloads.values()) {
+            if (!download.done) {
+                pending.add(download);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        LOG.debug("Downloading {} license file(s) with {} thread(s)", pending.size(), processor.getThreads());
+        processor.process(pending, this::download);
+    }
+
+    /**
+     * Takes the result of a download, which can then no more be taken.
+     *
+     * @param licenseUrlString the URL of the license
+     * @return the result of the download from the given URL, or {@code null} if no download from this URL was
+     *         done
+     * @throws IOException if the download failed
+     * @throws URISyntaxException if the URL is not valid
+     * @throws MojoFailureException if the downloaded content has not the expected sha1
+     */
+    public LicenseDownloadResult take(String licenseUrlString)
+            throws IOException, URISyntaxException, MojoFailureException {
+        Download download = downloads.get(licenseUrlString);
+        if (download == null || !download.done || download.taken) {
+            return null;
+        }
+        download.taken = true;
+        Exception failure = download.failure;
+        if (failure == null) {
+            return download.result;
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof URISyntaxException) {
+            throw (URISyntaxException) failure;
+        }
+        if (failure instanceof MojoFailureException) {
+            throw (MojoFailureException) failure;
+        }
+        throw (RuntimeException) failure;
+    }
+
+    private void download(Download download) throws IOException {
+        Semaphore permits = download.host == null
+                ? null
+                : hostPermits.computeIfAbsent(download.host, h -> new Semaphore(maxDownloadsPerHost));
+        try {
+            if (permits != null) {
+                permits.acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to download " + download.url);
+        }
+        try {
+            download.result = downloader.downloadLicense(download.url, download.fileNameEntry);
+        } catch (IOException | URISyntaxException | MojoFailureException | RuntimeException e) {
+            download.failure = e;
+        } finally {
+            download.done = true;
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    private static String getHost(String url) {
+        try {
+            String host = new URI(url).getHost();
+            return host == null ? null : host.toLowerCase(Locale.ROOT);
+        } catch (URISyntaxException e) {
+            // will fail when downloaded
+            return null;
+        }
+    }
+
+    /**
+     * A download from a single URL.
+     */
+    private static class Download {
+
+        private final String url;
+
+        private final FileNameEntry fileNameEntry;
+
+        /**
+         * Host of the URL, {@code null} if the URL has no host (such as a {@code file://} URL).
+         */
+        private final String host;
+
+        private volatile boolean done;
+
+        private boolean taken;
+
+        private volatile LicenseDownloadResult result;
+
+        private volatile Exception failure;
+
+        Download(String url, FileNameEntry fileNameEntry) {
+            this.url = url;
+            this.fileNameEntry = fileNameEntry;
+            this.host = getHost(url);
+        }
+    }
+}
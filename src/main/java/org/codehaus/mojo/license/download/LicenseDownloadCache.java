@@ -0,0 +1,272 @@
+package org.codehaus.mojo.license.download;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.codehaus.mojo.license.utils.SortedProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of downloaded license files, shared by all the builds using the same cache directory.
+ * <p>
+ * The downloaded contents are stored once per sha1 in the {@code content} sub directory, and each URL is bound to a
+ * content in the {@code urls} sub directory, together with the MIME type and charset of the content and its
+ * {@code ETag} and {@code Last-Modified} response headers used to revalidate it.
+ * <p>
+ * All files are written to temporary files first then moved, so that several builds can share the cache at once.
+ *
+ * @since 2.8.0
+ */
+public class LicenseDownloadCache {
+    private static final Logger LOG = LoggerFactory.getLogger(LicenseDownloadCache.class);
+
+    private static final String URL = "url";
+
+    private static final String SHA1 = "sha1";
+
+    private static final String NORMALIZED_CONTENT_CHECKSUM = "normalizedContentChecksum";
+
+    private static final String MIME_TYPE = "mimeType";
+
+    private static final String CHARSET = "charset";
+
+    private static final String ETAG = "etag";
+
+    private static final String LAST_MODIFIED = "lastModified";
+
+    /**
+     * Directory of the contents, named by their sha1.
+     */
+    private final Path contentDirectory;
+
+    /**
+     * Directory of the URL entries, named by the sha1 of their URL.
+     */
+    private final Path urlDirectory;
+
+    /**
+     * @param directory the directory of the cache
+     */
+    public LicenseDownloadCache(File directory) {
+        this.contentDirectory = directory.toPath().resolve("content");
+        this.urlDirectory = directory.toPath().resolve("urls");
+    }
+
+    /**
+     * @param url the URL of the license
+     * @return the entry bound to the given URL, or {@code null} if there is no such entry or if it can not be read
+     */
+    public Entry get(String url) {
+        final Path entryFile = urlDirectory.resolve(DigestUtils.sha1Hex(url) + ".properties");
+        if (!Files.exists(entryFile)) {
+            return null;
+        }
+        final SortedProperties properties = new SortedProperties("UTF-8");
+        try {
+            properties.load(entryFile.toFile());
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.debug("Could not read cache entry {}", entryFile, e);
+            return null;
+        }
+        final String sha1 = properties.getProperty(SHA1);
+        if (!url.equals(properties.getProperty(URL)) || sha1 == null) {
+            return null;
+        }
+        final Entry entry = new Entry(
+                url,
+                sha1,
+                properties.getProperty(NORMALIZED_CONTENT_CHECKSUM),
+                properties.getProperty(MIME_TYPE),
+                properties.getProperty(CHARSET),
+                properties.getProperty(ETAG),
+                properties.getProperty(LAST_MODIFIED),
+                contentDirectory.resolve(sha1));
+        return Files.exists(entry.getContentFile()) ? entry : null;
+    }
+
+    /**
+     * Stores the content downloaded from the given URL and binds it to the URL.
+     *
+     * @param url          the URL of the license
+     * @param content      the downloaded content
+     * @param mimeType     the MIME type of the content, may be {@code null}
+     * @param charset      the charset of the content, may be {@code null}
+     * @param etag         the {@code ETag} response header, may be {@code null}
+     * @param lastModified the {@code Last-Modified} response header, may be {@code null}
+     * @return the new entry bound to the URL
+     * @throws IOException if could not write to the cache
+     */
+    public Entry put(String url, InputStream content, String mimeType, String charset, String etag, String lastModified)
+            throws IOException {
+        Files.createDirectories(contentDirectory);
+        Files.createDirectories(urlDirectory);
+
+        final Path tmp = Files.createTempFile(contentDirectory, "download", ".tmp");
+        final String sha1;
+        final String normalizedContentChecksum;
+        try {
+            final MessageDigest md = DigestUtils.getSha1Digest();
+            final NormalizedContentChecksum normalized = new NormalizedContentChecksum();
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                LicenseDownloader.copyContent(content, out, md, normalized);
+            }
+            sha1 = Hex.encodeHexString(md.digest());
+            normalizedContentChecksum = normalized.digest();
+            move(tmp, contentDirectory.resolve(sha1));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        final Entry entry = new Entry(
+                url,
+                sha1,
+                normalizedContentChecksum,
+                mimeType,
+                charset,
+                etag,
+                lastModified,
+                contentDirectory.resolve(sha1));
+        final SortedProperties properties = new SortedProperties("UTF-8");
+        properties.setProperty(URL, url);
+        properties.setProperty(SHA1, sha1);
+        setProperty(properties, NORMALIZED_CONTENT_CHECKSUM, normalizedContentChecksum);
+        setProperty(properties, MIME_TYPE, mimeType);
+        setProperty(properties, CHARSET, charset);
+        setProperty(properties, ETAG, etag);
+        setProperty(properties, LAST_MODIFIED, lastModified);
+        final Path entryTmp = Files.createTempFile(urlDirectory, "entry", ".tmp");
+        try {
+            properties.store(entryTmp.toFile());
+            move(entryTmp, urlDirectory.resolve(DigestUtils.sha1Hex(url) + ".properties"));
+        } finally {
+            Files.deleteIfExists(entryTmp);
+        }
+        return entry;
+    }
+
+    private static void setProperty(SortedProperties properties, String key, String value) {
+        if (value != null) {
+            properties.setProperty(key, value);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            if (!Files.exists(target)) {
+                throw e;
+            }
+            // replaced at once by another build (only on platforms not replacing existing files on atomic moves)
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * A license content bound to the URL it was downloaded from.
+     */
+    public static class Entry {
+
+        private final String url;
+
+        private final String sha1;
+
+        private final String normalizedContentChecksum;
+
+        private final String mimeType;
+
+        private final String charset;
+
+        private final String etag;
+
+        private final String lastModified;
+
+        private final Path contentFile;
+
+        @SuppressWarnings("checkstyle:ParameterNumber")
+        Entry(
+                String url,
+                String sha1,
+                String normalizedContentChecksum,
+                String mimeType,
+                String charset,
+                String etag,
+                String lastModified,
+                Path contentFile) {
+            this.url = url;
+            this.sha1 = sha1;
+            this.normalizedContentChecksum = normalizedContentChecksum;
+            this.mimeType = mimeType;
+            this.charset = charset;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentFile = contentFile;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getSha1() {
+            return sha1;
+        }
+
+        public String getNormalizedContentChecksum() {
+            return normalizedContentChecksum;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public String getCharset() {
+            return charset;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public Path getContentFile() {
+            return contentFile;
+        }
+    }
+}
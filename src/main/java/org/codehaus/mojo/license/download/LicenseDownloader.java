@@ -23,32 +23,42 @@ package org.codehaus.mojo.license.download;
  */
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpException;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpStatus;
@@ -77,6 +87,7 @@ import org.apache.http.protocol.HttpContext;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.settings.Proxy;
 import org.codehaus.mojo.license.spdx.SpdxLicenseList.Attachments.ContentSanitizer;
+import org.codehaus.mojo.license.spdx.SpdxLicenseTexts;
 import org.codehaus.mojo.license.utils.FileUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -92,6 +103,15 @@ public class LicenseDownloader implements AutoCloseable {
 
     private static final Pattern EXTENSION_PATTERN = Pattern.compile("\\.[a-z]{1,4}$", Pattern.CASE_INSENSITIVE);
 
+    /** Fetches in progress in the JVM, indexed by their URL. */
+    private static final Map<String, CompletableFuture<DownloadedContent>> IN_FLIGHT_FETCHES =
+            new ConcurrentHashMap<>();
+
+    private static final AtomicLong INSTANCE_COUNT = new AtomicLong();
+
+    /** Unique id of this downloader in the JVM. */
+    private final long id = INSTANCE_COUNT.incrementAndGet();
+
     private final CloseableHttpClient client;
 
     private final Map<String, ContentSanitizer> contentSanitizers;
@@ -112,6 +132,12 @@ public class LicenseDownloader implements AutoCloseable {
     /** Additional HTTP headers to include in authenticated requests (e.g. custom tokens). May be empty. */
     private final Map<String, String> httpHeaders;
 
+    /** Persistent cache of the downloaded contents. May be {@code null} if no cache is used. */
+    private LicenseDownloadCache downloadCache;
+
+    /** Canonical license texts used instead of downloading them. May be {@code null} if no texts are used. */
+    private SpdxLicenseTexts licenseTexts;
+
     /**
      * Creates a new {@code LicenseDownloader} without authentication. Proxy settings and timeouts are still applied.
      */
@@ -165,6 +191,55 @@ public class LicenseDownloader implements AutoCloseable {
             String password,
             String serverUrl,
             Map<String, String> httpHeaders) {
+        this(
+                proxy,
+                connectTimeout,
+                socketTimeout,
+                connectionRequestTimeout,
+                contentSanitizers,
+                charset,
+                userName,
+                password,
+                serverUrl,
+                httpHeaders,
+                0,
+                0);
+    }
+
+    /**
+     * Creates a new {@code LicenseDownloader} with optional authentication, able to download from several threads.
+     *
+     * @param proxy               optional proxy configuration from {@code settings.xml}
+     * @param connectTimeout      HTTP connection timeout in milliseconds
+     * @param socketTimeout       HTTP socket (read) timeout in milliseconds
+     * @param connectionRequestTimeout HTTP connection-pool request timeout in milliseconds
+     * @param contentSanitizers   optional content sanitizers keyed by an id string
+     * @param charset             charset used when reading text license content
+     * @param userName            username for preemptive Basic Authentication, or {@code null}/empty to disable
+     * @param password            password for preemptive Basic Authentication, or {@code null}/empty to disable
+     * @param serverUrl           URL prefix that a license URL must start with in order to receive credentials;
+     *                            {@code null} disables authentication for all URLs
+     * @param httpHeaders         additional HTTP headers sent only to matching URLs (e.g. {@code Authorization: Bearer})
+     * @param maxConnections      maximum number of HTTP connections open at once, {@code 0} to use the defaults of
+     *                            the HTTP client
+     * @param maxConnectionsPerHost maximum number of HTTP connections open at once to a single host, if lower than
+     *                            {@code 1} then only limited by {@code maxConnections}
+     * @since 2.8.0
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public LicenseDownloader(
+            Proxy proxy,
+            int connectTimeout,
+            int socketTimeout,
+            int connectionRequestTimeout,
+            Map<String, ContentSanitizer> contentSanitizers,
+            Charset charset,
+            String userName,
+            String password,
+            String serverUrl,
+            Map<String, String> httpHeaders,
+            int maxConnections,
+            int maxConnectionsPerHost) {
         this.contentSanitizers = contentSanitizers;
         this.charset = charset;
         this.userName = userName;
@@ -182,6 +257,11 @@ public class LicenseDownloader implements AutoCloseable {
         }
 
         HttpClientBuilder clientBuilder = HttpClients.custom().setDefaultRequestConfig(configBuilder.build());
+        if (maxConnections > 0) {
+            final int maxConnectionsPerRoute =
+                    maxConnectionsPerHost > 0 ? Math.min(maxConnectionsPerHost, maxConnections) : maxConnections;
+            clientBuilder.setMaxConnTotal(maxConnections).setMaxConnPerRoute(maxConnectionsPerRoute);
+        }
         if (proxy != null) {
             if (proxy.getUsername() != null && proxy.getPassword() != null) {
                 final CredentialsProvider credsProvider = new BasicCredentialsProvider();
@@ -221,6 +301,44 @@ public class LicenseDownloader implements AutoCloseable {
         this.client = clientBuilder.build();
     }
 
+    /**
+     * Sets the persistent cache of the contents downloaded from HTTP URLs.
+     * <p>
+     * A cached content is revalidated with a conditional request ({@code If-None-Match} and
+     * {@code If-Modified-Since}) and is not downloaded again if the server answers it was not modified.
+     * <p>
+     * The URLs receiving credentials (see {@link #shouldAuthenticate(String)}) bypass the cache, so that their
+     * contents are not disclosed to the other users of the cache.
+     *
+     * @param downloadCache the cache, or {@code null} to not use any cache
+     * @since 2.8.0
+     */
+    public void setDownloadCache(LicenseDownloadCache downloadCache) {
+        this.downloadCache = downloadCache;
+    }
+
+    /**
+     * Sets the canonical license texts to use instead of downloading them.
+     * <p>
+     * A text is used for an HTTP URL if the {@link FileNameEntry} of the URL expects a sha1 (see
+     * {@link PreferredFileNames}) which is the one of this text.
+     *
+     * @param licenseTexts the license texts, or {@code null} to always download the licenses
+     * @since 2.8.0
+     */
+    public void setLicenseTexts(SpdxLicenseTexts licenseTexts) {
+        this.licenseTexts = licenseTexts;
+    }
+
+    /**
+     * @param fileNameEntry where to store a license file
+     * @return {@code true} if the license file can be stored from a canonical license text without being downloaded
+     * @since 2.8.0
+     */
+    public boolean hasLicenseText(FileNameEntry fileNameEntry) {
+        return licenseTexts != null && licenseTexts.contains(fileNameEntry.getSha1());
+    }
+
     /**
      * Downloads a license file from the given {@code licenseUrlString} stores it locally and
      * returns the local path where the license file was stored. Note that the
@@ -247,90 +365,274 @@ public class LicenseDownloader implements AutoCloseable {
             LOG.debug("Downloading '{}' -> '{}'", licenseUrlString, outputFile);
             Path in = Paths.get(new URI(licenseUrlString));
             if (sanitizers.isEmpty()) {
-                Files.copy(in, outputFile.toPath());
-                return LicenseDownloadResult.success(outputFile, FileUtil.sha1(in), fileNameEntry.isPreferred());
+                final MessageDigest md = DigestUtils.getSha1Digest();
+                final NormalizedContentChecksum normalized = new NormalizedContentChecksum();
+                try (InputStream is = Files.newInputStream(in);
+                        OutputStream os = Files.newOutputStream(outputFile.toPath(), StandardOpenOption.CREATE_NEW)) {
+                    copyContent(is, os, md, normalized);
+                }
+                return LicenseDownloadResult.success(
+                        outputFile, Hex.encodeHexString(md.digest()), fileNameEntry.isPreferred(), normalized.digest());
             } else {
                 try (BufferedReader r = Files.newBufferedReader(in, charset)) {
                     return sanitize(r, outputFile, charset, sanitizers, fileNameEntry.isPreferred());
                 }
             }
         } else {
-            LOG.debug("About to download '{}'", licenseUrlString);
-            final HttpGet request = new HttpGet(licenseUrlString);
-            final HttpClientContext context;
-            if (shouldAuthenticate(licenseUrlString)) {
-                LOG.debug("Applying authentication for URL '{}' (matches serverUrl '{}')", licenseUrlString, serverUrl);
-                context = makeLocalContext(new URL(licenseUrlString));
-                for (Map.Entry<String, String> header : httpHeaders.entrySet()) {
-                    LOG.debug(
-                            "Adding HTTP header '{}' to authenticated request for '{}'",
-                            header.getKey(),
-                            licenseUrlString);
-                    request.addHeader(header.getKey(), header.getValue());
-                }
+            final byte[] licenseText = licenseTexts != null ? licenseTexts.getText(fileNameEntry.getSha1()) : null;
+            final DownloadedContent content;
+            if (licenseText != null) {
+                LOG.debug("Using the bundled license text of '{}'", licenseUrlString);
+                content = new DownloadedContent(
+                        null,
+                        null,
+                        null,
+                        fileNameEntry.getSha1(),
+                        new NormalizedContentChecksum()
+                                .update(licenseText, 0, licenseText.length)
+                                .digest(),
+                        null,
+                        licenseText);
             } else {
-                context = null;
+                content = fetchShared(licenseUrlString);
             }
-            try (CloseableHttpResponse response =
-                    context != null ? client.execute(request, context) : client.execute(request)) {
-                final StatusLine statusLine = response.getStatusLine();
-                if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
-                    return LicenseDownloadResult.failure("'" + licenseUrlString + "' returned "
-                            + statusLine.getStatusCode()
-                            + (statusLine.getReasonPhrase() != null ? " " + statusLine.getReasonPhrase() : ""));
-                }
+            if (content.errorMessage != null) {
+                return LicenseDownloadResult.failure(content.errorMessage);
+            }
+            return storeContent(licenseUrlString, content, fileNameEntry, sanitizers);
+        }
+    }
+
+    /**
+     * Fetches the content of the given HTTP URL, sharing the download with the concurrent fetches of the same URL by
+     * any other {@link LicenseDownloader} of the JVM (such as the ones of other modules of a parallel build).
+     * <p>
+     * The fetches of URLs receiving credentials are only shared with the fetches of this downloader.
+     *
+     * @param licenseUrlString the URL
+     * @return the fetched content
+     * @throws IOException if the download failed
+     */
+    private DownloadedContent fetchShared(String licenseUrlString) throws IOException {
+        final String key = shouldAuthenticate(licenseUrlString) ? id + "@" + licenseUrlString : licenseUrlString;
+        final CompletableFuture<DownloadedContent> flight = new CompletableFuture<>();
+        final CompletableFuture<DownloadedContent> inFlight = IN_FLIGHT_FETCHES.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            return awaitFetch(licenseUrlString, inFlight);
+        }
+        try {
+            final DownloadedContent content = fetch(licenseUrlString);
+            flight.complete(content);
+            return content;
+        } catch (IOException | RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT_FETCHES.remove(key, flight);
+        }
+    }
+
+    /**
+     * Waits for a fetch of the given HTTP URL in progress in another thread.
+     *
+     * @param licenseUrlString the URL
+     * @param inFlight the fetch in progress
+     * @return the fetched content
+     * @throws IOException if the download failed or the wait was interrupted
+     */
+    <T> T awaitFetch(String licenseUrlString, Future<T> inFlight) throws IOException {
+        LOG.debug("Waiting for the download of '{}' in progress", licenseUrlString);
+        try {
+            return inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the download of " + licenseUrlString);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
 
-                final HttpEntity entity = response.getEntity();
-                if (entity != null) {
-                    final ContentType contentType = ContentType.get(entity);
+    /**
+     * Fetches the content of the given HTTP URL, from the {@link #downloadCache} if it was not modified since cached.
+     * The contents of the URLs receiving credentials are never cached.
+     * <p>
+     * Without a {@link #downloadCache}, the whole content is held in memory until stored by every caller sharing the
+     * fetch, so that it can be stored in several files. License texts being small, this only costs the size of the
+     * licenses downloaded at once.
+     *
+     * @param licenseUrlString the URL
+     * @return the fetched content
+     * @throws IOException if the download failed
+     */
+    private DownloadedContent fetch(String licenseUrlString) throws IOException {
+        LOG.debug("About to download '{}'", licenseUrlString);
+        final HttpGet request = new HttpGet(licenseUrlString);
+        final HttpClientContext context;
+        final LicenseDownloadCache cache;
+        if (shouldAuthenticate(licenseUrlString)) {
+            LOG.debug("Applying authentication for URL '{}' (matches serverUrl '{}')", licenseUrlString, serverUrl);
+            context = makeLocalContext(new URL(licenseUrlString));
+            for (Map.Entry<String, String> header : httpHeaders.entrySet()) {
+                LOG.debug(
+                        "Adding HTTP header '{}' to authenticated request for '{}'",
+                        header.getKey(),
+                        licenseUrlString);
+                request.addHeader(header.getKey(), header.getValue());
+            }
+            // the cache is shared by all users of the machine, keep it free of authenticated contents
+            cache = null;
+        } else {
+            context = null;
+            cache = downloadCache;
+        }
+        final LicenseDownloadCache.Entry cachedEntry = cache != null ? cache.get(licenseUrlString) : null;
+        if (cachedEntry != null) {
+            if (cachedEntry.getEtag() != null) {
+                request.addHeader(HttpHeaders.IF_NONE_MATCH, cachedEntry.getEtag());
+            }
+            if (cachedEntry.getLastModified() != null) {
+                request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, cachedEntry.getLastModified());
+            }
+        }
+        try (CloseableHttpResponse response =
+                context != null ? client.execute(request, context) : client.execute(request)) {
+            final StatusLine statusLine = response.getStatusLine();
+            if (cachedEntry != null && statusLine.getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+                LOG.debug("'{}' was not modified since cached", licenseUrlString);
+                return DownloadedContent.of(cachedEntry);
+            }
+            if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
+                return DownloadedContent.failure("'" + licenseUrlString + "' returned "
+                        + statusLine.getStatusCode()
+                        + (statusLine.getReasonPhrase() != null ? " " + statusLine.getReasonPhrase() : ""));
+            }
 
-                    File updatedFile = fileNameEntry.isPreferred()
-                            ? outputFile
-                            : updateFileExtension(outputFile, contentType != null ? contentType.getMimeType() : null);
-                    LOG.debug(
-                            "Downloading '{}' -> '{}'{}",
+            final HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                return DownloadedContent.failure("'" + licenseUrlString + "' returned no body.");
+            }
+            final ContentType contentType = ContentType.get(entity);
+            final String mimeType = contentType != null ? contentType.getMimeType() : null;
+            final String charsetName = contentType != null && contentType.getCharset() != null
+                    ? contentType.getCharset().name()
+                    : null;
+
+            if (cache != null) {
+                final LicenseDownloadCache.Entry entry;
+                try (InputStream in = entity.getContent()) {
+                    entry = cache.put(
                             licenseUrlString,
-                            updatedFile,
-                            fileNameEntry.isPreferred() ? " (preferred file name)" : "");
-
-                    if (sanitizers.isEmpty()) {
-                        try (InputStream in = entity.getContent();
-                                FileOutputStream fos = new FileOutputStream(updatedFile)) {
-                            final MessageDigest md = MessageDigest.getInstance("SHA-1");
-                            final byte[] buf = new byte[1024];
-                            int len;
-                            while ((len = in.read(buf)) >= 0) {
-                                md.update(buf, 0, len);
-                                fos.write(buf, 0, len);
-                            }
-                            final String actualSha1 = Hex.encodeHexString(md.digest());
-                            final String expectedSha1 = fileNameEntry.getSha1();
-                            if (expectedSha1 != null && !expectedSha1.equals(actualSha1)) {
-                                throw new MojoFailureException("URL '" + licenseUrlString
-                                        + "' returned content with unexpected sha1 '" + actualSha1 + "'; expected '"
-                                        + expectedSha1 + "'. You may want to (a) re-run the current mojo"
-                                        + " with -Dlicense.forceDownload=true or (b) change the expected sha1 in"
-                                        + " the licenseUrlFileNames entry '"
-                                        + fileNameEntry.getFile().getName()
-                                        + "' or (c) split the entry so that"
-                                        + " its URLs return content with different sha1 sums.");
-                            }
-                            return LicenseDownloadResult.success(updatedFile, actualSha1, fileNameEntry.isPreferred());
-                        } catch (NoSuchAlgorithmException e) {
-                            throw new RuntimeException(e);
-                        }
-                    } else {
-                        final Charset cs = contentType != null
-                                ? (contentType.getCharset() == null ? this.charset : contentType.getCharset())
-                                : this.charset;
-                        try (BufferedReader r = new BufferedReader(new InputStreamReader(entity.getContent(), cs))) {
-                            return sanitize(r, updatedFile, cs, sanitizers, fileNameEntry.isPreferred());
-                        }
-                    }
-                } else {
-                    return LicenseDownloadResult.failure("'" + licenseUrlString + "' returned no body.");
+                            in,
+                            mimeType,
+                            charsetName,
+                            getHeaderValue(response, HttpHeaders.ETAG),
+                            getHeaderValue(response, HttpHeaders.LAST_MODIFIED));
                 }
+                LOG.debug("Downloaded '{}' to cache", licenseUrlString);
+                return DownloadedContent.of(entry);
             }
+            final MessageDigest md = DigestUtils.getSha1Digest();
+            final NormalizedContentChecksum normalized = new NormalizedContentChecksum();
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (InputStream in = entity.getContent()) {
+                copyContent(in, bytes, md, normalized);
+            }
+            return new DownloadedContent(
+                    null,
+                    mimeType,
+                    charsetName,
+                    Hex.encodeHexString(md.digest()),
+                    normalized.digest(),
+                    null,
+                    bytes.toByteArray());
+        }
+    }
+
+    /**
+     * Stores locally a downloaded content.
+     *
+     * @param licenseUrlString the URL the content was downloaded from
+     * @param content          the downloaded content
+     * @param fileNameEntry    a hint where to store the license file
+     * @param sanitizers       the content sanitizers to apply
+     * @return the result of the download
+     * @throws IOException if could not store the content
+     * @throws MojoFailureException if the content has not the expected sha1
+     */
+    private LicenseDownloadResult storeContent(
+            String licenseUrlString,
+            DownloadedContent content,
+            FileNameEntry fileNameEntry,
+            List<ContentSanitizer> sanitizers)
+            throws IOException, MojoFailureException {
+        final File outputFile = fileNameEntry.getFile();
+        final File updatedFile =
+                fileNameEntry.isPreferred() ? outputFile : updateFileExtension(outputFile, content.mimeType);
+        LOG.debug(
+                "Downloading '{}' -> '{}'{}",
+                licenseUrlString,
+                updatedFile,
+                fileNameEntry.isPreferred() ? " (preferred file name)" : "");
+        if (sanitizers.isEmpty()) {
+            try (InputStream in = content.open()) {
+                Files.copy(in, updatedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            checkSha1(licenseUrlString, fileNameEntry, content.sha1);
+            return LicenseDownloadResult.success(
+                    updatedFile, content.sha1, fileNameEntry.isPreferred(), content.normalizedContentChecksum);
+        }
+        final Charset cs = content.charset != null ? Charset.forName(content.charset) : this.charset;
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(content.open(), cs))) {
+            return sanitize(r, updatedFile, cs, sanitizers, fileNameEntry.isPreferred());
+        }
+    }
+
+    private static void checkSha1(String licenseUrlString, FileNameEntry fileNameEntry, String actualSha1)
+            throws MojoFailureException {
+        final String expectedSha1 = fileNameEntry.getSha1();
+        if (expectedSha1 != null && !expectedSha1.equals(actualSha1)) {
+            throw new MojoFailureException("URL '" + licenseUrlString
+                    + "' returned content with unexpected sha1 '" + actualSha1 + "'; expected '"
+                    + expectedSha1 + "'. You may want to (a) re-run the current mojo"
+                    + " with -Dlicense.forceDownload=true or (b) change the expected sha1 in"
+                    + " the licenseUrlFileNames entry '"
+                    + fileNameEntry.getFile().getName()
+                    + "' or (c) split the entry so that"
+                    + " its URLs return content with different sha1 sums.");
+        }
+    }
+
+    private static String getHeaderValue(CloseableHttpResponse response, String name) {
+        final Header header = response.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
+    }
+
+    /**
+     * Copies a license content, computing at once its sha1 and its normalized content checksum.
+     *
+     * @param in         the content to copy
+     * @param out        where to copy the content
+     * @param md         the digest of the sha1 of the content
+     * @param normalized the checksum of the normalized content
+     * @throws IOException if could not copy the content
+     */
+    static void copyContent(InputStream in, OutputStream out, MessageDigest md, NormalizedContentChecksum normalized)
+            throws IOException {
+        // CHECKSTYLE_OFF: MagicNumber
+        final byte[] buf = new byte[8192];
+        // CHECKSTYLE_ON: MagicNumber
+        int len;
+        while ((len = in.read(buf)) >= 0) {
+            md.update(buf, 0, len);
+            normalized.update(buf, 0, len);
+            out.write(buf, 0, len);
         }
     }
 
@@ -353,7 +655,9 @@ public class LicenseDownloader implements AutoCloseable {
         byte[] bytes = content.getBytes(charset);
         Files.write(out.toPath(), bytes);
         final String sha1 = DigestUtils.sha1Hex(bytes);
-        return LicenseDownloadResult.success(out, sha1, preferredFileName);
+        final String normalizedContentChecksum =
+                new NormalizedContentChecksum().update(bytes, 0, bytes.length).digest();
+        return LicenseDownloadResult.success(out, sha1, preferredFileName, normalizedContentChecksum);
     }
 
     List<ContentSanitizer> filterSanitizers(String licenseUrlString) {
@@ -442,17 +746,47 @@ public class LicenseDownloader implements AutoCloseable {
             return new LicenseDownloadResult(file, sha1, preferredFileName, null);
         }
 
+        /**
+         * @param file                      the license file
+         * @param sha1                      the sha1 of the content of the file
+         * @param preferredFileName         {@code true} if the file has a preferred name
+         * @param normalizedContentChecksum the checksum of the normalized content of the file, if {@code null} it is
+         *                                  computed from the file
+         * @return a successful result
+         * @since 2.8.0
+         */
+        public static LicenseDownloadResult success(
+                File file, String sha1, boolean preferredFileName, String normalizedContentChecksum) {
+            return new LicenseDownloadResult(
+                    file,
+                    sha1,
+                    preferredFileName,
+                    null,
+                    normalizedContentChecksum != null
+                            ? normalizedContentChecksum
+                            : LicenseDownloader.calculateFileChecksum(file));
+        }
+
         public static LicenseDownloadResult failure(String errorMessage) {
             return new LicenseDownloadResult(null, null, false, errorMessage);
         }
 
         private LicenseDownloadResult(File file, String sha1, boolean preferredFileName, String errorMessage) {
+            this(file, sha1, preferredFileName, errorMessage, LicenseDownloader.calculateFileChecksum(file));
+        }
+
+        private LicenseDownloadResult(
+                File file,
+                String sha1,
+                boolean preferredFileName,
+                String errorMessage,
+                String normalizedContentChecksum) {
             super();
             this.file = file;
             this.errorMessage = errorMessage;
             this.sha1 = sha1;
             this.preferredFileName = preferredFileName;
-            this.normalizedContentChecksum = LicenseDownloader.calculateFileChecksum(file);
+            this.normalizedContentChecksum = normalizedContentChecksum;
         }
 
         private final File file;
@@ -518,45 +852,94 @@ public class LicenseDownloader implements AutoCloseable {
         }
     }
 
+    /**
+     * A content fetched from an HTTP URL, held in memory or in the {@link #downloadCache}.
+     */
+    private static class DownloadedContent {
+
+        /** Reason why the content could not be fetched, {@code null} if fetched. */
+        private final String errorMessage;
+
+        private final String mimeType;
+
+        private final String charset;
+
+        private final String sha1;
+
+        /** Checksum of the normalized content, {@code null} if not known. */
+        private final String normalizedContentChecksum;
+
+        private final Path file;
+
+        private final byte[] bytes;
+
+        DownloadedContent(
+                String errorMessage,
+                String mimeType,
+                String charset,
+                String sha1,
+                String normalizedContentChecksum,
+                Path file,
+                byte[] bytes) {
+            this.errorMessage = errorMessage;
+            this.mimeType = mimeType;
+            this.charset = charset;
+            this.sha1 = sha1;
+            this.normalizedContentChecksum = normalizedContentChecksum;
+            this.file = file;
+            this.bytes = bytes;
+        }
+
+        static DownloadedContent of(LicenseDownloadCache.Entry entry) {
+            return new DownloadedContent(
+                    null,
+                    entry.getMimeType(),
+                    entry.getCharset(),
+                    entry.getSha1(),
+                    entry.getNormalizedContentChecksum(),
+                    entry.getContentFile(),
+                    null);
+        }
+
+        static DownloadedContent failure(String errorMessage) {
+            return new DownloadedContent(errorMessage, null, null, null, null, null, null);
+        }
+
+        InputStream open() throws IOException {
+            return file != null ? Files.newInputStream(file) : new ByteArrayInputStream(bytes);
+        }
+    }
+
     private static String calculateFileChecksum(File file) {
         if (file == null) {
             return null;
         }
-        try {
-            String contentString = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
-            return calculateStringChecksum(contentString);
+        final NormalizedContentChecksum normalized = new NormalizedContentChecksum();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            // CHECKSTYLE_OFF: MagicNumber
+            final byte[] buf = new byte[8192];
+            // CHECKSTYLE_ON: MagicNumber
+            int len;
+            while ((len = in.read(buf)) >= 0) {
+                normalized.update(buf, 0, len);
+            }
+            return normalized.digest();
         } catch (IOException e) {
             LOG.error("Error reading license file and normalizing it ", e);
             return null;
         }
     }
 
+    /**
+     * Computes the checksum of the normalized content of a license file.
+     * <p>
+     * Since 2.8.0, the checksum does not depend on the default charset nor on the default locale of the JVM, see
+     * {@link NormalizedContentChecksum}.
+     *
+     * @param contentString the content of a license file
+     * @return the checksum of the normalized content, see {@link NormalizedContentChecksum}
+     */
     public static String calculateStringChecksum(String contentString) {
-        contentString = normalizeString(contentString);
-        try {
-            final MessageDigest md = MessageDigest.getInstance("SHA-1");
-            return Hex.encodeHexString(md.digest(contentString.getBytes()));
-        } catch (NoSuchAlgorithmException e) {
-            LOG.error("Error fetching SHA-1 hashsum generator ", e);
-            return null;
-        }
-    }
-
-    private static String normalizeString(String contentString) {
-        return contentString
-                // Windows
-                .replace("\r\n", " ")
-                // Classic MacOS
-                .replace("\r", " ")
-                // *nix
-                .replace("\n", " ")
-                // Set all spaces, tabs, etc. to one space width
-                .replaceAll("\\s\\s+", " ")
-                /* License files exist which are completely identical, except that someone changed
-                <http://fsf.org/> to <https://fsf.org/>.
-                 */
-                .replace("http://", "https://")
-                // All to lowercase
-                .toLowerCase();
+        return new NormalizedContentChecksum().update(contentString).digest();
     }
 }
@@ -0,0 +1,303 @@
+package org.codehaus.mojo.license.download;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Computes incrementally the sha1 checksum of the normalized content of a license file, without building the
+ * content nor its normalized form.
+ * <p>
+ * The content is normalized as follows:
+ * <ul>
+ *   <li>each line end ({@code \r\n}, {@code \r} or {@code \n}) is replaced by a space,</li>
+ *   <li>each run of at least two whitespace chars is replaced by a single space,</li>
+ *   <li>each {@code http://} is replaced by {@code https://},</li>
+ *   <li>all chars are converted to lower case, one code point after the other.</li>
+ * </ul>
+ * The checksum is computed on the UTF-8 encoding of the normalized content. The content can be given as chars or as
+ * UTF-8 bytes, malformed bytes being decoded as the replacement char.
+ * <p>
+ * <b>Note:</b> Before 2.8.0, the normalized content was encoded with the default charset of the JVM and lower cased
+ * with {@link String#toLowerCase()}, which depends on the default locale and lower cases a final capital sigma as a
+ * final small sigma. The checksums of ASCII contents are unchanged, as well as the ones of other contents computed on
+ * a JVM whose default charset is UTF-8, except with a Turkish or Azerbaijani locale or for a final capital sigma.
+ * The checksums are only compared within a build (to find the license files with the same normalized content), so
+ * this only changes which non-ASCII license files are found to be the same.
+ *
+ * @since 2.8.0
+ */
+public class NormalizedContentChecksum {
+
+    private static final char[] HTTP = "http://".toCharArray();
+
+    private static final char[] HTTPS = "https://".toCharArray();
+
+    private final MessageDigest md = DigestUtils.getSha1Digest();
+
+    /**
+     * Decoder of the bytes given to {@link #update(byte[], int, int)}, created on first use.
+     */
+    private CharsetDecoder decoder;
+
+    /**
+     * Bytes not yet decoded since they start an incomplete sequence.
+     */
+    private ByteBuffer undecoded;
+
+    private CharBuffer decoded;
+
+    /**
+     * {@code true} if the last char was a {@code \r}, so that a following {@code \n} is part of the same line end.
+     */
+    private boolean afterCr;
+
+    /**
+     * Length of the current run of whitespace chars.
+     */
+    private int whitespaceCount;
+
+    /**
+     * The whitespace char of the current run, kept as is if it is its only char.
+     */
+    private char whitespace;
+
+    /**
+     * Number of chars of {@code http://} matched by the last chars.
+     */
+    private int httpMatched;
+
+    /**
+     * High surrogate waiting for its low surrogate to be lower cased.
+     */
+    private char highSurrogate;
+
+    private final byte[] out = new byte[1024];
+
+    private int outLength;
+
+    /**
+     * Adds the given chars to the content.
+     *
+     * @param chars the chars to add
+     * @param off   offset of the first char to add
+     * @param len   number of chars to add
+     * @return this instance
+     */
+    public NormalizedContentChecksum update(char[] chars, int off, int len) {
+        for (int i = off; i < off + len; i++) {
+            normalizeLineEnd(chars[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the given chars to the content.
+     *
+     * @param chars the chars to add
+     * @return this instance
+     */
+    public NormalizedContentChecksum update(CharSequence chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            normalizeLineEnd(chars.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Adds the given UTF-8 bytes to the content.
+     *
+     * @param bytes the bytes to add
+     * @param off   offset of the first byte to add
+     * @param len   number of bytes to add
+     * @return this instance
+     */
+    public NormalizedContentChecksum update(byte[] bytes, int off, int len) {
+        if (decoder == null) {
+            decoder = StandardCharsets.UTF_8
+                    .newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            undecoded = ByteBuffer.allocate(16);
+            undecoded.flip();
+            decoded = CharBuffer.allocate(1024);
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes, off, len);
+        if (undecoded.hasRemaining()) {
+            // complete the pending sequence with the first bytes
+            ByteBuffer joined = ByteBuffer.allocate(undecoded.remaining() + len);
+            joined.put(undecoded).put(in).flip();
+            in = joined;
+        }
+        decode(in, false);
+        undecoded.clear();
+        undecoded.put(in).flip();
+        return this;
+    }
+
+    /**
+     * @return the hex encoded sha1 of the normalized content; this instance must then no more be used
+     */
+    public String digest() {
+        if (decoder != null) {
+            decode(undecoded, true);
+            decoded.clear();
+            decoder.flush(decoded);
+            decoded.flip();
+            while (decoded.hasRemaining()) {
+                normalizeLineEnd(decoded.get());
+            }
+        }
+        endWhitespace();
+        for (int i = 0; i < httpMatched; i++) {
+            lowerCase(HTTP[i]);
+        }
+        if (highSurrogate != 0) {
+            write('?');
+        }
+        md.update(out, 0, outLength);
+        return Hex.encodeHexString(md.digest());
+    }
+
+    private void decode(ByteBuffer in, boolean endOfInput) {
+        while (true) {
+            decoded.clear();
+            boolean overflow = decoder.decode(in, decoded, endOfInput).isOverflow();
+            decoded.flip();
+            while (decoded.hasRemaining()) {
+                normalizeLineEnd(decoded.get());
+            }
+            if (!overflow) {
+                return;
+            }
+        }
+    }
+
+    private void normalizeLineEnd(char c) {
+        if (c == '\n' && afterCr) {
+            // second char of a \r\n line end
+            afterCr = false;
+            return;
+        }
+        afterCr = c == '\r';
+        normalizeWhitespace(c == '\r' || c == '\n' ? ' ' : c);
+    }
+
+    private void normalizeWhitespace(char c) {
+        if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+            whitespace = c;
+            whitespaceCount++;
+            return;
+        }
+        endWhitespace();
+        replaceHttp(c);
+    }
+
+    private void endWhitespace() {
+        if (whitespaceCount > 0) {
+            replaceHttp(whitespaceCount == 1 ? whitespace : ' ');
+            whitespaceCount = 0;
+        }
+    }
+
+    private void replaceHttp(char c) {
+        if (c == HTTP[httpMatched]) {
+            httpMatched++;
+            if (httpMatched == HTTP.length) {
+                for (char h : HTTPS) {
+                    lowerCase(h);
+                }
+                httpMatched = 0;
+            }
+            return;
+        }
+        // no prefix of http:// ends with another prefix of it, the matched chars can be released
+        for (int i = 0; i < httpMatched; i++) {
+            lowerCase(HTTP[i]);
+        }
+        httpMatched = 0;
+        if (c == HTTP[0]) {
+            httpMatched = 1;
+        } else {
+            lowerCase(c);
+        }
+    }
+
+    private void lowerCase(char c) {
+        if (highSurrogate != 0) {
+            final char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                writeCodePoint(Character.toLowerCase(Character.toCodePoint(high, c)));
+                return;
+            }
+            // unpaired surrogate, encoded as by String.getBytes()
+            write('?');
+        }
+        if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            write('?');
+        } else if (c == '\u0130') {
+            // lower case of the capital I with dot above is two chars
+            writeCodePoint('i');
+            writeCodePoint('\u0307');
+        } else {
+            writeCodePoint(Character.toLowerCase(c));
+        }
+    }
+
+    private void writeCodePoint(int codePoint) {
+        if (codePoint < 0x80) {
+            write(codePoint);
+        } else if (codePoint < 0x800) {
+            write(0xC0 | (codePoint >> 6));
+            write(0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            write(0xE0 | (codePoint >> 12));
+            write(0x80 | ((codePoint >> 6) & 0x3F));
+            write(0x80 | (codePoint & 0x3F));
+        } else {
+            write(0xF0 | (codePoint >> 18));
+            write(0x80 | ((codePoint >> 12) & 0x3F));
+            write(0x80 | ((codePoint >> 6) & 0x3F));
+            write(0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private void write(int b) {
+        if (outLength == out.length) {
+            md.update(out, 0, outLength);
+            outLength = 0;
+        }
+        out[outLength++] = (byte) b;
+    }
+}
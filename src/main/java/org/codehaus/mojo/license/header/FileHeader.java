@@ -57,6 +57,20 @@ public class FileHeader {
      */
     protected String license;
 
+    public FileHeader() {}
+
+    /**
+     * Copy constructor.
+     *
+     * @param header the header to copy
+     * @since 2.8.0
+     */
+    public FileHeader(FileHeader header) {
+        this.description = header.getDescription();
+        this.copyright = header.getCopyright() == null ? null : new Copyright(header.getCopyright());
+        this.license = header.getLicense();
+    }
+
     /**
      * @return the project name, or nay other common informations for all
      * files of a project (or module)
@@ -0,0 +1,230 @@
+package org.codehaus.mojo.license.header;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.mojo.license.FileState;
+import org.codehaus.mojo.license.utils.SortedProperties;
+
+/**
+ * Persistent index of the files found with an up to date (or ignored) header during a previous execution.
+ * <p>
+ * Each entry is keyed by the absolute path of the file and records its size, last modification time and content
+ * hash (unknown for a file classified from its first bytes only). A file whose size and last modification time did
+ * not change can then be classified without being opened, while a file only touched (same content, new modification
+ * time) can be classified without being processed.
+ * <p>
+ * The whole index is bound to a fingerprint of the inputs used to build the expected header (license, copyright,
+ * description, tags, transformer settings, comment style of the files...): if this fingerprint changes, the index is
+ * discarded.
+ *
+ * @since 2.8.0
+ */
+public class FileHeaderIndex {
+
+    /**
+     * Key of the entry storing the fingerprint of the header inputs.
+     * <p>
+     * Can not collide with a file entry since those are keyed by absolute paths.
+     */
+    static final String INPUTS_FINGERPRINT_KEY = "@inputs";
+
+    /**
+     * Location of the index.
+     */
+    private final File indexFile;
+
+    /**
+     * Fingerprint of the header inputs the index is bound to.
+     */
+    private final String inputsFingerprint;
+
+    /**
+     * Entries of the index indexed by the absolute path of their file.
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the index from the given file.
+     * <p>
+     * If the file does not exist, is not readable, or was built for other header inputs, then the returned index is
+     * empty.
+     *
+     * @param indexFile         location of the index
+     * @param inputsFingerprint fingerprint of the current header inputs
+     * @return the loaded index
+     */
+    public static FileHeaderIndex load(File indexFile, String inputsFingerprint) {
+        FileHeaderIndex result = new FileHeaderIndex(indexFile, inputsFingerprint);
+        if (indexFile.exists()) {
+            SortedProperties properties = new SortedProperties("UTF-8");
+            try {
+                properties.load(indexFile);
+            } catch (IOException | IllegalArgumentException e) {
+                // corrupted index, start from scratch
+                return result;
+            }
+            if (inputsFingerprint.equals(properties.getProperty(INPUTS_FINGERPRINT_KEY))) {
+                for (String path : properties.stringPropertyNames()) {
+                    if (INPUTS_FINGERPRINT_KEY.equals(path)) {
+                        continue;
+                    }
+                    Entry entry = Entry.valueOf(properties.getProperty(path));
+                    if (entry != null) {
+                        result.entries.put(path, entry);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    FileHeaderIndex(File indexFile, String inputsFingerprint) {
+        this.indexFile = indexFile;
+        this.inputsFingerprint = inputsFingerprint;
+    }
+
+    /**
+     * Obtains the recorded state of the given file if neither its size nor its last modification time changed since
+     * it was indexed.
+     *
+     * @param file the file to check
+     * @return the recorded state, or {@code null} if the file is unknown or was modified
+     */
+    public FileState getState(File file) {
+        Entry entry = entries.get(file.getAbsolutePath());
+        if (entry == null || entry.size != file.length() || entry.lastModified != file.lastModified()) {
+            return null;
+        }
+        return entry.state;
+    }
+
+    /**
+     * Obtains the recorded state of the given file if its content did not change since it was indexed.
+     * <p>
+     * Used for files whose last modification time changed, but whose content is still the same.
+     *
+     * @param file        the file to check
+     * @param contentHash hash of the current content of the file
+     * @return the recorded state, or {@code null} if the file is unknown, its recorded content hash is unknown or its
+     *      content has changed
+     */
+    public FileState getState(File file, String contentHash) {
+        Entry entry = entries.get(file.getAbsolutePath());
+        if (entry == null || entry.contentHash == null || !entry.contentHash.equals(contentHash)) {
+            return null;
+        }
+        return entry.state;
+    }
+
+    /**
+     * Records the state of the given file.
+     *
+     * @param file        the file to record
+     * @param state       the state of the file
+     * @param contentHash hash of the content of the file, {@code null} if unknown
+     */
+    public void put(File file, FileState state, String contentHash) {
+        entries.put(file.getAbsolutePath(), new Entry(state, file.length(), file.lastModified(), contentHash));
+    }
+
+    /**
+     * Forgets the given file.
+     *
+     * @param file the file to forget
+     */
+    public void remove(File file) {
+        entries.remove(file.getAbsolutePath());
+    }
+
+    /**
+     * @return the number of indexed files
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Saves the index.
+     *
+     * @throws IOException if could not write the index file
+     */
+    public void store() throws IOException {
+        SortedProperties properties = new SortedProperties("UTF-8");
+        properties.setProperty(INPUTS_FINGERPRINT_KEY, inputsFingerprint);
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().toString());
+        }
+        Files.createDirectories(indexFile.getAbsoluteFile().getParentFile().toPath());
+        properties.store(indexFile);
+    }
+
+    /**
+     * An entry of the index.
+     */
+    static class Entry {
+
+        final FileState state;
+
+        final long size;
+
+        final long lastModified;
+
+        final String contentHash;
+
+        Entry(FileState state, long size, long lastModified, String contentHash) {
+            this.state = state;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+        }
+
+        static Entry valueOf(String value) {
+            String[] parts = value.split(",");
+            if (parts.length != 3 && parts.length != 4) {
+                return null;
+            }
+            try {
+                return new Entry(
+                        FileState.valueOf(parts[0]),
+                        Long.parseLong(parts[1]),
+                        Long.parseLong(parts[2]),
+                        parts.length == 4 ? parts[3] : null);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            // an unknown content hash is omitted
+            return state + "," + size + "," + lastModified + (contentHash == null ? "" : "," + contentHash);
+        }
+    }
+}
@@ -30,7 +30,10 @@ import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.Objects;
 
+import org.apache.commons.io.input.CharSequenceReader;
+import org.apache.commons.io.output.StringBuilderWriter;
 import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
 import org.nuiton.processor.Processor;
 
@@ -93,6 +96,10 @@ public class FileHeaderProcessor extends Processor {
         return filter.isDetectHeader();
     }
 
+    /**
+     * @deprecated since 2.8.0, use {@link #process(CharSequence)} which does not encode and decode the content again
+     */
+    @Deprecated
     public synchronized void process(String inputContent, File outputFile, String encoding) throws IOException {
 
         filter.reset();
@@ -110,12 +117,38 @@ public class FileHeaderProcessor extends Processor {
         }
     }
 
+    /**
+     * Process the given content in memory.
+     * <p>
+     * Use then {@link #isTouched()}, {@link #isModified()} and {@link #isDetectHeader()} to know what was found in
+     * the content.
+     *
+     * @param inputContent the content to process
+     * @return the processed content
+     * @throws IOException if any pb while processing the content
+     * @since 2.8.0
+     */
+    public synchronized String process(CharSequence inputContent) throws IOException {
+
+        filter.reset();
+
+        StringBuilderWriter output = new StringBuilderWriter(inputContent.length() + 512);
+        try (Reader input = new CharSequenceReader(inputContent)) {
+            process(input, output);
+        }
+        return output.toString();
+    }
+
     public String getFileHeaderDescription() {
         return filter.getFileHeader().getDescription();
     }
 
     public void updateDescription(String description) {
-        filter.getFileHeader().setDescription(description);
-        filter.resetContent();
+        if (!Objects.equals(description, filter.getFileHeader().getDescription())) {
+            filter.getFileHeader().setDescription(description);
+
+            // cached header contents are still valid as long as the description does not change
+            filter.resetContent();
+        }
     }
 }
@@ -0,0 +1,296 @@
+package org.codehaus.mojo.license.header;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds in a single pass the ignore tag and the process start and end tags of a content.
+ * <p>
+ * All the tags are matched at once by an Aho-Corasick automaton compiled in the constructor into a transition table,
+ * so scanning a content costs one table lookup per character and allocates nothing but the {@link Result}.
+ * <p>
+ * Tags are located as the {@link FileHeaderFilter} does: the header starts at the first start tag and ends at the
+ * first end tag found after it. A start tag found after the header end is reported as a
+ * {@link Result#isDuplicateStartTag() duplicate}.
+ * <p>
+ * Instances are immutable and can be shared by several threads.
+ *
+ * @since 2.8.0
+ */
+public class HeaderScanner {
+
+    private static final int IGNORE_TAG = 0;
+
+    private static final int START_TAG = 1;
+
+    private static final int END_TAG = 2;
+
+    /**
+     * Process start tag of the header.
+     */
+    private final String startTag;
+
+    /**
+     * Length of each pattern, indexed by its id.
+     */
+    private final int[] patternLengths;
+
+    /**
+     * Column of each char in the {@link #transitions} table ({@code 0} for chars not used by any pattern).
+     */
+    private final int[] columns;
+
+    /**
+     * Transitions of the automaton, indexed by {@code state * columnCount + column}.
+     */
+    private final int[] transitions;
+
+    /**
+     * Number of columns of the {@link #transitions} table.
+     */
+    private final int columnCount;
+
+    /**
+     * Bit set of the ids of the patterns matched when reaching each state.
+     */
+    private final int[] outputs;
+
+    /**
+     * @param ignoreTag tag marking a file to be ignored
+     * @param startTag  process start tag of the header
+     * @param endTag    process end tag of the header
+     */
+    public HeaderScanner(String ignoreTag, String startTag, String endTag) {
+        this.startTag = startTag;
+        String[] patterns = {ignoreTag, startTag, endTag};
+
+        patternLengths = new int[patterns.length];
+        char maxChar = 0;
+        for (int i = 0; i < patterns.length; i++) {
+            if (patterns[i] == null || patterns[i].isEmpty()) {
+                throw new IllegalArgumentException("Can not scan for an empty tag");
+            }
+            patternLengths[i] = patterns[i].length();
+            for (char c : patterns[i].toCharArray()) {
+                maxChar = (char) Math.max(maxChar, c);
+            }
+        }
+
+        // map every char used by a pattern to a column of the transition table
+        columns = new int[maxChar + 1];
+        int nextColumn = 1;
+        for (String pattern : patterns) {
+            for (char c : pattern.toCharArray()) {
+                if (columns[c] == 0) {
+                    columns[c] = nextColumn++;
+                }
+            }
+        }
+        columnCount = nextColumn;
+
+        // build the trie of the patterns
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> trieOutputs = new ArrayList<>();
+        trie.add(new int[columnCount]);
+        trieOutputs.add(0);
+        for (int id = 0; id < patterns.length; id++) {
+            int state = 0;
+            for (char c : patterns[id].toCharArray()) {
+                int column = columns[c];
+                if (trie.get(state)[column] == 0) {
+                    trie.get(state)[column] = trie.size();
+                    trie.add(new int[columnCount]);
+                    trieOutputs.add(0);
+                }
+                state = trie.get(state)[column];
+            }
+            trieOutputs.set(state, trieOutputs.get(state) | (1 << id));
+        }
+
+        // compute failure links in breadth-first order and turn the trie into a complete transition table
+        int stateCount = trie.size();
+        transitions = new int[stateCount * columnCount];
+        outputs = new int[stateCount];
+        int[] failures = new int[stateCount];
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        outputs[0] = trieOutputs.get(0);
+        for (int column = 1; column < columnCount; column++) {
+            int next = trie.get(0)[column];
+            transitions[column] = next;
+            if (next != 0) {
+                queue[tail++] = next;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            outputs[state] = trieOutputs.get(state) | outputs[failures[state]];
+            for (int column = 1; column < columnCount; column++) {
+                int next = trie.get(state)[column];
+                int fallback = transitions[failures[state] * columnCount + column];
+                if (next == 0) {
+                    transitions[state * columnCount + column] = fallback;
+                } else {
+                    transitions[state * columnCount + column] = next;
+                    failures[next] = fallback;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the process start tag of the header
+     */
+    public String getStartTag() {
+        return startTag;
+    }
+
+    /**
+     * Scans the given content.
+     *
+     * @param content the content to scan
+     * @return the result of the scan
+     */
+    public Result scan(CharSequence content) {
+        return scan(content, 0, content.length());
+    }
+
+    /**
+     * Scans a region of the given content.
+     *
+     * @param content the content to scan
+     * @param from    index of the first char to scan
+     * @param to      index after the last char to scan
+     * @return the result of the scan (with indexes relative to the whole content)
+     */
+    public Result scan(CharSequence content, int from, int to) {
+        Result result = new Result();
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            char c = content.charAt(i);
+            int column = c < columns.length ? columns[c] : 0;
+            state = transitions[state * columnCount + column];
+            int output = outputs[state];
+            if (output != 0) {
+                if (result.match(output, i + 1) && result.ignoreTagIndex != -1) {
+                    // nothing else matters for an ignored content
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Result of a scan.
+     */
+    public final class Result {
+
+        private int ignoreTagIndex = -1;
+
+        private int startTagIndex = -1;
+
+        private int endTagIndex = -1;
+
+        private boolean duplicateStartTag;
+
+        Result() {}
+
+        /**
+         * Registers the patterns matched just before the given index.
+         *
+         * @return {@code true} if the ignore tag was matched
+         */
+        private boolean match(int output, int end) {
+            if ((output & (1 << IGNORE_TAG)) != 0) {
+                ignoreTagIndex = end - patternLengths[IGNORE_TAG];
+                return true;
+            }
+            if ((output & (1 << START_TAG)) != 0) {
+                int index = end - patternLengths[START_TAG];
+                if (startTagIndex == -1) {
+                    startTagIndex = index;
+                } else if (endTagIndex != -1 && index >= getHeaderEnd()) {
+                    duplicateStartTag = true;
+                }
+            }
+            if (startTagIndex == -1 || endTagIndex != -1) {
+                return false;
+            }
+            if ((output & (1 << END_TAG)) != 0) {
+                int index = end - patternLengths[END_TAG];
+                if (index >= startTagIndex + patternLengths[START_TAG]) {
+                    endTagIndex = index;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return {@code true} if the ignore tag was found
+         */
+        public boolean hasIgnoreTag() {
+            return ignoreTagIndex != -1;
+        }
+
+        /**
+         * @return {@code true} if a process start tag was found
+         */
+        public boolean hasStartTag() {
+            return startTagIndex != -1;
+        }
+
+        /**
+         * @return {@code true} if both process start and end tags were found
+         */
+        public boolean hasHeader() {
+            return endTagIndex != -1;
+        }
+
+        /**
+         * @return {@code true} if another process start tag was found after the header
+         */
+        public boolean isDuplicateStartTag() {
+            return duplicateStartTag;
+        }
+
+        /**
+         * @return index of the process start tag, {@code -1} if not found
+         */
+        public int getHeaderStart() {
+            return startTagIndex;
+        }
+
+        /**
+         * @return index after the process end tag, {@code -1} if not found
+         */
+        public int getHeaderEnd() {
+            return endTagIndex == -1 ? -1 : endTagIndex + patternLengths[END_TAG];
+        }
+    }
+}
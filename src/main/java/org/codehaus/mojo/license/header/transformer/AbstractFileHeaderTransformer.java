@@ -22,6 +22,10 @@ package org.codehaus.mojo.license.header.transformer;
  * #L%
  */
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -52,6 +56,11 @@ public abstract class AbstractFileHeaderTransformer implements FileHeaderTransfo
     static final Pattern COPYRIGHT_PATTERN =
             Pattern.compile("(.[^\\d]+)?\\s(\\d{4})?(\\s+-\\s+(\\d{4})?){0,1}\\s+(.+)?", Pattern.DOTALL);
 
+    /**
+     * maximum number of header contents kept in {@link #headerContents}.
+     */
+    private static final int MAX_CACHED_HEADER_CONTENTS = 256;
+
     /**
      * name of transformer.
      */
@@ -67,6 +76,21 @@ public abstract class AbstractFileHeaderTransformer implements FileHeaderTransfo
      */
     private String sectionDelimiter = DEFAULT_SECTION_DELIMITER;
 
+    /**
+     * compiled section delimiter, to split headers.
+     */
+    private Pattern sectionDelimiterPattern = Pattern.compile(DEFAULT_SECTION_DELIMITER);
+
+    /**
+     * last expected license compared in {@link #isLicenseEquals(FileHeader, FileHeader)}, stripped of its spaces.
+     */
+    private volatile NormalizedText expectedLicense;
+
+    /**
+     * header contents built by {@link #toHeaderContent(FileHeader)}, for the current settings of the transformer.
+     */
+    private volatile HeaderContents headerContents;
+
     /**
      * start process tag.
      */
@@ -169,6 +193,7 @@ public abstract class AbstractFileHeaderTransformer implements FileHeaderTransfo
      */
     public void setSectionDelimiter(String sectionDelimiter) {
         this.sectionDelimiter = sectionDelimiter;
+        this.sectionDelimiterPattern = Pattern.compile(sectionDelimiter);
     }
 
     /**
@@ -308,7 +333,7 @@ public abstract class AbstractFileHeaderTransformer implements FileHeaderTransfo
     public FileHeader toFileHeader(String header) {
         FileHeader model = new FileHeader();
 
-        String[] sections = header.split(getSectionDelimiter());
+        String[] sections = sectionDelimiterPattern.split(header);
         if (sections.length != 3) {
             throw new IllegalStateException("could not find 3 sections in\n" + header);
         }
@@ -365,6 +390,35 @@ public abstract class AbstractFileHeaderTransformer implements FileHeaderTransfo
      */
     public String toHeaderContent(FileHeader model) {
 
+        // the same header is usually written in many files: build it only once for the current settings
+        Object[] settings = {
+            getLineSeparator(),
+            getSectionDelimiter(),
+            getProcessStartTag(),
+            getProcessEndTag(),
+            getCommentLinePrefix(),
+            isTrimHeaderLine()
+        };
+        HeaderContents contents = headerContents;
+        if (contents == null || !Arrays.equals(contents.settings, settings)) {
+            contents = new HeaderContents(settings);
+            headerContents = contents;
+        }
+        List<String> key = Arrays.asList(model.getDescription(), model.getCopyright().getText(), model.getLicense());
+        String result = contents.contents.get(key);
+        if (result == null) {
+            result = buildHeaderContent(model);
+            if (contents.contents.size() >= MAX_CACHED_HEADER_CONTENTS) {
+                // headers depending on files, do not keep them all
+                contents.contents.clear();
+            }
+            contents.contents.put(key, result);
+        }
+        return result;
+    }
+
+    private String buildHeaderContent(FileHeader model) {
+
         String result;
 
         // model to text
@@ -487,21 +541,26 @@ public abstract class AbstractFileHeaderTransformer implements FileHeaderTransfo
      * {@inheritDoc}
      */
     public boolean isLicenseEquals(FileHeader header1, FileHeader header2) {
-        String license1 = removeSpaces(header1.getLicense());
-        String license2 = removeSpaces(header2.getLicense());
-        return license1.equals(license2);
+        // the second header is the expected one, the same for all files: strip its spaces only once
+        NormalizedText license2 = expectedLicense;
+        if (license2 == null || !license2.isOf(header2.getLicense())) {
+            license2 = new NormalizedText(header2.getLicense());
+            expectedLicense = license2;
+        }
+        return license2.matches(header1.getLicense());
     }
 
-    private static final Pattern REMOVE_SPACE_PATTERN = Pattern.compile("(\\s+)");
+    /**
+     * Header contents built with some settings of the transformer.
+     */
+    private static class HeaderContents {
 
-    private String removeSpaces(String str) {
-        Matcher matcher = REMOVE_SPACE_PATTERN.matcher(str);
-        String result;
-        if (matcher.find()) {
-            result = matcher.replaceAll("");
-        } else {
-            result = str;
+        private final Object[] settings;
+
+        private final Map<List<String>, String> contents = new ConcurrentHashMap<>();
+
+        HeaderContents(Object[] settings) {
+            this.settings = settings;
         }
-        return result;
     }
 }
@@ -0,0 +1,93 @@
+package org.codehaus.mojo.license.header.transformer;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.Arrays;
+
+/**
+ * A text stripped of its white spaces (as matched by the {@code \s} regex class).
+ * <p>
+ * It is built once for an expected text, then compared to many texts without building their stripped copies.
+ *
+ * @since 2.8.0
+ */
+final class NormalizedText {
+
+    /**
+     * The original text.
+     */
+    private final String source;
+
+    /**
+     * Chars of the text, white spaces removed.
+     */
+    private final char[] chars;
+
+    NormalizedText(String source) {
+        this.source = source;
+        char[] buffer = new char[source.length()];
+        int length = 0;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (!isSpace(c)) {
+                buffer[length++] = c;
+            }
+        }
+        this.chars = length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * @param text a text
+     * @return {@code true} if this normalized text was built from the given text
+     */
+    boolean isOf(String text) {
+        return source == text || source.equals(text);
+    }
+
+    /**
+     * @param text the text to compare
+     * @return {@code true} if the given text, once stripped of its white spaces, is the same as this one
+     */
+    boolean matches(CharSequence text) {
+        int index = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSpace(c)) {
+                continue;
+            }
+            if (index == chars.length || chars[index++] != c) {
+                return false;
+            }
+        }
+        return index == chars.length;
+    }
+
+    /**
+     * @param c a char
+     * @return {@code true} if the char is matched by the {@code \s} regex class
+     */
+    static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,133 @@
+package org.codehaus.mojo.license.spdx;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Canonical texts of SPDX licenses bundled with the plugin, indexed by the sha1 recorded for the URLs of these
+ * licenses in {@link SpdxLicenseListData}.
+ * <p>
+ * The index is the {@code license-texts.properties} resource of this package, binding each sha1 to a class path
+ * resource, gzip compressed if its name ends with {@code .gz}. A text is only returned if its sha1 is the expected
+ * one, so that it is the exact content the URLs would return.
+ *
+ * @since 2.8.0
+ */
+public class SpdxLicenseTexts {
+    private static final String INDEX = "org/codehaus/mojo/license/spdx/license-texts.properties";
+
+    private static final SpdxLicenseTexts BUNDLED = load(SpdxLicenseTexts.class.getClassLoader(), INDEX);
+
+    /**
+     * @return the texts bundled with the plugin
+     */
+    public static SpdxLicenseTexts getBundled() {
+        return BUNDLED;
+    }
+
+    /**
+     * Loads the texts indexed in the given resource.
+     *
+     * @param classLoader the class loader of the resources
+     * @param index       the resource of the index
+     * @return the loaded texts, empty if the index could not be read
+     */
+    static SpdxLicenseTexts load(ClassLoader classLoader, String index) {
+        final Map<String, String> resources = new TreeMap<>();
+        try (InputStream in = classLoader.getResourceAsStream(index)) {
+            if (in != null) {
+                final Properties properties = new Properties();
+                properties.load(in);
+                for (String sha1 : properties.stringPropertyNames()) {
+                    resources.put(sha1, properties.getProperty(sha1).trim());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + index, e);
+        }
+        return new SpdxLicenseTexts(classLoader, resources);
+    }
+
+    private final ClassLoader classLoader;
+
+    /**
+     * Class path resources of the texts indexed by their sha1.
+     */
+    private final Map<String, String> resources;
+
+    SpdxLicenseTexts(ClassLoader classLoader, Map<String, String> resources) {
+        this.classLoader = classLoader;
+        this.resources = Collections.unmodifiableMap(resources);
+    }
+
+    /**
+     * @return the sha1 of all the texts
+     */
+    public Set<String> getSha1s() {
+        return resources.keySet();
+    }
+
+    /**
+     * @param sha1 the sha1 of a text
+     * @return {@code true} if there is a text with the given sha1, {@code false} otherwise
+     */
+    public boolean contains(String sha1) {
+        return sha1 != null && resources.containsKey(sha1);
+    }
+
+    /**
+     * @param sha1 the sha1 of a text
+     * @return the text with the given sha1, or {@code null} if there is no such text
+     * @throws IOException if the text could not be read or has not the given sha1
+     */
+    public byte[] getText(String sha1) throws IOException {
+        final String resource = sha1 != null ? resources.get(sha1) : null;
+        if (resource == null) {
+            return null;
+        }
+        final byte[] text;
+        try (InputStream in = classLoader.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Missing license text resource " + resource);
+            }
+            text = IOUtils.toByteArray(resource.endsWith(".gz") ? new GZIPInputStream(in) : in);
+        }
+        final String actualSha1 = DigestUtils.sha1Hex(text);
+        if (!sha1.equals(actualSha1)) {
+            throw new IOException(
+                    "License text resource " + resource + " has sha1 '" + actualSha1 + "'; expected '" + sha1 + "'");
+        }
+        return text;
+    }
+}
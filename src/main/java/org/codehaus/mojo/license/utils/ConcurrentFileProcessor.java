@@ -0,0 +1,249 @@
+package org.codehaus.mojo.license.utils;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes a queue of work items on a dedicated and bounded pool of threads.
+ * <p>
+ * Unlike parallel streams, which run on the JVM-wide common {@code ForkJoinPool} (shared with the Maven parallel
+ * builder and any other plugin), the number of threads used here is fully under control of the caller.
+ * <p>
+ * All the items are put in a single queue the workers pull from, so mixing items of different kinds (e.g. files of
+ * several comment styles) keeps all the threads busy until the queue is empty.
+ *
+ * @param <T> type of the work items
+ * @since 2.8.0
+ */
+public class ConcurrentFileProcessor<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrentFileProcessor.class);
+
+    /**
+     * Action to apply on each work item.
+     *
+     * @param <T> type of the work items
+     */
+    public interface Task<T> {
+
+        /**
+         * Process a work item.
+         *
+         * @param item the item to process
+         * @throws IOException if any IO error while processing the item
+         */
+        void process(T item) throws IOException;
+    }
+
+    /**
+     * Number of worker threads.
+     */
+    private final int threads;
+
+    /**
+     * Prefix of the name of worker threads.
+     */
+    private final String name;
+
+    /**
+     * Statistics of each worker of the last {@link #process(List, Task)} call.
+     */
+    private final List<WorkerStats> stats = new ArrayList<>();
+
+    /**
+     * @param threads number of worker threads, if lower than {@code 1} then use as many threads as available
+     *                processors
+     * @param name    prefix of the name of worker threads
+     */
+    public ConcurrentFileProcessor(int threads, String name) {
+        this.threads = resolveThreads(threads);
+        this.name = name;
+    }
+
+    /**
+     * @param threads number of worker threads, if lower than {@code 1} then use as many threads as available
+     *                processors
+     * @return the number of worker threads used by a processor created with the given number of threads
+     */
+    public static int resolveThreads(int threads) {
+        return threads < 1 ? Runtime.getRuntime().availableProcessors() : threads;
+    }
+
+    /**
+     * @return the number of worker threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Processes all the given items.
+     * <p>
+     * As soon as a task fails, no more item is processed and the first error is thrown back. With a single thread, the
+     * items are processed in their order by the calling thread.
+     *
+     * @param items items to process
+     * @param task  action to apply on each item
+     * @throws IOException if a task failed with an IO error
+     */
+    public void process(List<T> items, Task<T> task) throws IOException {
+        stats.clear();
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int workers = Math.max(1, Math.min(threads, items.size()));
+
+        if (workers == 1) {
+            // no need to use another thread
+            WorkerStats workerStats = new WorkerStats(Thread.currentThread().getName());
+            stats.add(workerStats);
+            work(items, task, next, failure, workerStats);
+            return;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<WorkerStats>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    WorkerStats workerStats = new WorkerStats(Thread.currentThread().getName());
+                    work(items, task, next, failure, workerStats);
+                    return workerStats;
+                }));
+            }
+
+            for (Future<WorkerStats> future : futures) {
+                try {
+                    stats.add(future.get());
+                } catch (ExecutionException e) {
+                    // the failure of this worker, or of another one which made it stop, is thrown below
+                }
+            }
+            // the first failure in time, the next ones may only be consequences of the first one
+            Throwable error = failure.get();
+            if (error instanceof IOException) {
+                throw (IOException) error;
+            }
+            if (error instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) error).getCause();
+            }
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            if (error instanceof Error) {
+                throw (Error) error;
+            }
+            if (error != null) {
+                throw new IllegalStateException(error);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+            throw new InterruptedIOException("Interrupted while processing files");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Logs the throughput of each worker of the last {@link #process(List, Task)} call.
+     *
+     * @param verbose {@code true} to log at info level, otherwise at debug level
+     */
+    public void logStats(boolean verbose) {
+        if (!verbose && !LOG.isDebugEnabled()) {
+            return;
+        }
+        for (WorkerStats workerStats : stats) {
+            double seconds = workerStats.time / 1e9;
+            String message = String.format(
+                    " - thread %s processed %d item(s) in %s (%.1f items/s)",
+                    workerStats.name,
+                    workerStats.count,
+                    MojoHelper.convertTime(workerStats.time),
+                    seconds > 0 ? workerStats.count / seconds : 0d);
+            if (verbose) {
+                LOG.info(message);
+            } else {
+                LOG.debug(message);
+            }
+        }
+    }
+
+    private void work(
+            List<T> items,
+            Task<T> task,
+            AtomicInteger next,
+            AtomicReference<Throwable> failure,
+            WorkerStats workerStats)
+            throws IOException {
+        long t0 = System.nanoTime();
+        try {
+            int index;
+            while (failure.get() == null && (index = next.getAndIncrement()) < items.size()) {
+                task.process(items.get(index));
+                workerStats.count++;
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            failure.compareAndSet(null, e);
+            throw e;
+        } finally {
+            workerStats.time = System.nanoTime() - t0;
+        }
+    }
+
+    /**
+     * Throughput statistics of a worker.
+     */
+    private static class WorkerStats {
+
+        private final String name;
+
+        private int count;
+
+        private long time;
+
+        WorkerStats(String name) {
+            this.name = name;
+        }
+    }
+}
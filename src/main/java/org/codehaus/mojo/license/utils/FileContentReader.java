@@ -0,0 +1,255 @@
+package org.codehaus.mojo.license.utils;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Reads and decodes the content of files, decoding each file only once.
+ * <p>
+ * Each thread reuses its own read buffer, char buffer and charset decoder, so reading many files does not allocate
+ * anything, except for the biggest files whose buffers are not kept once read.
+ * <p>
+ * Files are not memory-mapped: a mapped file can not be replaced on some platforms as long as the mapping was not
+ * garbage collected.
+ * <p>
+ * <b>Note:</b> As buffers are reused, a {@link Content} is only valid until the next file is read by the same thread.
+ *
+ * @since 2.8.0
+ */
+public class FileContentReader {
+
+    /**
+     * Maximum size of the buffers kept by each thread.
+     */
+    private static final int MAX_KEPT_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Initial size of the per thread buffers.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 1 << 14;
+
+    private final Charset charset;
+
+    private final ThreadLocal<CharsetDecoder> decoders;
+
+    private final ThreadLocal<CharsetEncoder> encoders;
+
+    private final ThreadLocal<ByteBuffer[]> byteBuffers = ThreadLocal.withInitial(() -> new ByteBuffer[1]);
+
+    private final ThreadLocal<CharBuffer[]> charBuffers = ThreadLocal.withInitial(() -> new CharBuffer[1]);
+
+    /**
+     * @param encoding encoding of the files to read
+     */
+    public FileContentReader(String encoding) {
+        this.charset = Charset.forName(encoding);
+        // replace malformed input as new String(bytes, charset) does
+        this.decoders = ThreadLocal.withInitial(() -> charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE));
+        this.encoders = ThreadLocal.withInitial(() -> charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT));
+    }
+
+    /**
+     * Reads the content of the given file.
+     *
+     * @param file the file to read
+     * @return the content of the file, valid until the next call of this method by the same thread
+     * @throws IOException if could not read the file
+     */
+    public Content read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File " + file + " is too big to be read");
+            }
+            return read(channel, (int) size);
+        }
+    }
+
+    /**
+     * Reads at most {@code maxLength} leading bytes of the given file.
+     * <p>
+     * When the file is longer, the last chars of the content may be the replacement of a char whose bytes were cut.
+     *
+     * @param file      the file to read
+     * @param maxLength maximum number of bytes to read
+     * @return the leading content of the file, valid until the next call of this method by the same thread
+     * @throws IOException if could not read the file
+     */
+    public Content readPrefix(File file, int maxLength) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return read(channel, (int) Math.min(maxLength, channel.size()));
+        }
+    }
+
+    private Content read(FileChannel channel, int size) throws IOException {
+        ByteBuffer bytes = byteBuffer(size);
+        while (bytes.hasRemaining() && channel.read(bytes) != -1) {
+            // keep reading until the end of file
+        }
+        bytes.flip();
+        return new Content(bytes, decode(bytes.duplicate()));
+    }
+
+    private ByteBuffer byteBuffer(int size) {
+        if (size > MAX_KEPT_BUFFER_SIZE) {
+            return ByteBuffer.allocate(size);
+        }
+        ByteBuffer[] holder = byteBuffers.get();
+        if (holder[0] == null || holder[0].capacity() < size) {
+            holder[0] = ByteBuffer.allocate(Math.max(size, INITIAL_BUFFER_SIZE));
+        }
+        holder[0].clear().limit(size);
+        return holder[0];
+    }
+
+    private CharBuffer decode(ByteBuffer bytes) throws CharacterCodingException {
+        CharsetDecoder decoder = decoders.get().reset();
+        CharBuffer[] holder = charBuffers.get();
+        int size = (int) (bytes.remaining() * (double) decoder.averageCharsPerByte()) + 16;
+        CharBuffer chars;
+        if (size > MAX_KEPT_BUFFER_SIZE) {
+            chars = CharBuffer.allocate(size);
+        } else {
+            if (holder[0] == null || holder[0].capacity() < size) {
+                holder[0] = CharBuffer.allocate(Math.max(size, INITIAL_BUFFER_SIZE));
+            }
+            chars = holder[0];
+            chars.clear();
+        }
+        while (true) {
+            CoderResult result = bytes.hasRemaining() ? decoder.decode(bytes, chars, true) : CoderResult.UNDERFLOW;
+            if (result.isUnderflow()) {
+                result = decoder.flush(chars);
+            }
+            if (result.isUnderflow()) {
+                break;
+            }
+            if (result.isOverflow()) {
+                CharBuffer bigger = CharBuffer.allocate(chars.capacity() * 2);
+                chars.flip();
+                bigger.put(chars);
+                chars = bigger;
+                if (chars.capacity() <= MAX_KEPT_BUFFER_SIZE) {
+                    holder[0] = chars;
+                }
+            } else {
+                result.throwException();
+            }
+        }
+        chars.flip();
+        return chars;
+    }
+
+    /**
+     * Content of a file, both as bytes and chars.
+     */
+    public final class Content {
+
+        private final ByteBuffer bytes;
+
+        private final CharBuffer chars;
+
+        Content(ByteBuffer bytes, CharBuffer chars) {
+            this.bytes = bytes;
+            this.chars = chars;
+        }
+
+        /**
+         * @return the decoded chars of the file
+         */
+        public CharBuffer getChars() {
+            return chars;
+        }
+
+        /**
+         * @return the number of bytes of the content
+         */
+        public int getByteCount() {
+            return bytes.remaining();
+        }
+
+        /**
+         * @return the sha1 hash (as an hexadecimal string) of the bytes of the file
+         */
+        public String sha1Hex() {
+            MessageDigest digest = DigestUtils.getSha1Digest();
+            digest.update(bytes.duplicate());
+            return Hex.encodeHexString(digest.digest());
+        }
+
+        /**
+         * Gets the offset in the bytes of the file of the given char index.
+         *
+         * @param charIndex index of a char
+         * @return the offset of the bytes of this char, or {@code -1} if the chars before it do not encode back to
+         *      the original bytes (like for a malformed input)
+         */
+        public long getByteOffset(int charIndex) {
+            CharsetEncoder encoder = encoders.get().reset();
+            ByteBuffer original = bytes.duplicate();
+            ByteBuffer encoded = ByteBuffer.allocate(256);
+            CharBuffer in = (CharBuffer) chars.duplicate().position(0).limit(charIndex);
+            while (true) {
+                CoderResult result = in.hasRemaining() ? encoder.encode(in, encoded, true) : CoderResult.UNDERFLOW;
+                if (result.isUnderflow()) {
+                    result = encoder.flush(encoded);
+                }
+                if (result.isError()) {
+                    return -1;
+                }
+                // compare what was encoded so far with the original bytes
+                encoded.flip();
+                while (encoded.hasRemaining()) {
+                    if (!original.hasRemaining() || original.get() != encoded.get()) {
+                        return -1;
+                    }
+                }
+                encoded.clear();
+                if (result.isUnderflow()) {
+                    return original.position();
+                }
+            }
+        }
+    }
+}
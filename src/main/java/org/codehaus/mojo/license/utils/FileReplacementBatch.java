@@ -0,0 +1,335 @@
+package org.codehaus.mojo.license.utils;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replaces the content of many files in two phases.
+ * <p>
+ * The new content of each file is first {@link #stage(File, String, long, boolean, String) staged} in a temporary
+ * file of a single staging directory, without touching the original file. Once all files are staged, they are
+ * {@link #commit(boolean) committed}: backups of all the original files are made, then each temporary file is moved
+ * over its original file, atomically if the file system supports it. This way an interrupted run never leaves a
+ * half-written file, and {@link #rollback()} removes the temporary files and the staging directory of a batch which
+ * will not be committed.
+ * <p>
+ * A temporary file which can not be moved atomically over its original file (when the staging directory is on
+ * another file store) is first copied next to the original file, with the {@code tmpSuffix}, then moved from there.
+ * <p>
+ * When {@code sync} is on, the temporary files are flushed to the storage device before being moved, and each
+ * directory of the batch is flushed once after all its files were moved.
+ * <p>
+ * Files can be staged from many threads.
+ *
+ * @since 2.8.0
+ */
+public class FileReplacementBatch {
+    private static final Logger LOG = LoggerFactory.getLogger(FileReplacementBatch.class);
+
+    /**
+     * Directory of the temporary files, created with the first staged file.
+     */
+    private final Path stagingDirectory;
+
+    /**
+     * Suffix of the temporary files written next to the original files.
+     */
+    private final String tmpSuffix;
+
+    /**
+     * To flush files and directories to the storage device.
+     */
+    private final boolean sync;
+
+    /**
+     * To name the temporary files.
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Files whose new content is staged, with their temporary file.
+     */
+    private final Queue<StagedFile> staged = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param stagingDirectory directory of the temporary files, removed once the batch is committed or rolled back
+     * @param tmpSuffix        suffix of the temporary files written next to the original files
+     * @param sync             {@code true} to flush files and directories to the storage device
+     */
+    public FileReplacementBatch(File stagingDirectory, String tmpSuffix, boolean sync) {
+        this.stagingDirectory = stagingDirectory.toPath();
+        this.tmpSuffix = tmpSuffix;
+        this.sync = sync;
+    }
+
+    /**
+     * Writes the new content of a file to its temporary file.
+     * <p>
+     * The new content is built as in {@link FileUtil#writeContent(File, Path, String, long, boolean, String)}.
+     *
+     * @param file       the file to update
+     * @param head       the new head of the file
+     * @param tailOffset offset of the first byte of the file to keep, {@code -1} to replace the whole content
+     * @param printTail  {@code true} to print the tail with the platform line separator
+     * @param encoding   the encoding to read and write in
+     * @throws IOException if could not write the new content
+     */
+    public void stage(File file, String head, long tailOffset, boolean printTail, String encoding)
+            throws IOException {
+        stage(file, tmp -> FileUtil.writeContent(file, tmp, head, tailOffset, printTail, encoding));
+    }
+
+    /**
+     * Writes the new content of a file to its temporary file, as is.
+     *
+     * @param file     the file to update
+     * @param content  the new content of the file
+     * @param encoding the encoding to write in
+     * @throws IOException if could not write the new content
+     */
+    public void stage(File file, String content, String encoding) throws IOException {
+        stage(file, tmp -> {
+            Files.write(tmp, content.getBytes(encoding));
+            FileUtil.copyPermissions(file.toPath(), tmp);
+        });
+    }
+
+    private void stage(File file, ContentWriter writer) throws IOException {
+        Files.createDirectories(stagingDirectory);
+        Path tmp = stagingDirectory.resolve(count.incrementAndGet() + "_" + file.getName());
+        try {
+            writer.write(tmp);
+            if (sync) {
+                force(tmp);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        staged.add(new StagedFile(file, tmp));
+    }
+
+    /**
+     * @return the number of staged files
+     */
+    public int size() {
+        return staged.size();
+    }
+
+    /**
+     * Replaces all the staged files by their new content.
+     * <p>
+     * A file which could not be replaced is logged and skipped.
+     *
+     * @param backup {@code true} to keep a {@link FileUtil#getBackupFile(File) backup} of the original files
+     * @return the number of replaced files
+     */
+    public int commit(boolean backup) {
+        List<StagedFile> files = new ArrayList<>(staged);
+        staged.clear();
+
+        if (backup) {
+            List<StagedFile> backedUp = new ArrayList<>(files.size());
+            for (StagedFile stagedFile : files) {
+                try {
+                    backup(stagedFile.file);
+                    backedUp.add(stagedFile);
+                } catch (IOException e) {
+                    LOG.warn("Could not backup {}, will not update it", stagedFile.file, e);
+                    deleteTemporaryFile(stagedFile.tmp);
+                }
+            }
+            files = backedUp;
+        }
+
+        int replaced = 0;
+        Set<Path> directories = new LinkedHashSet<>();
+        for (StagedFile stagedFile : files) {
+            Path target = stagedFile.file.toPath();
+            try {
+                replace(stagedFile.tmp, target);
+                directories.add(target.toAbsolutePath().getParent());
+                replaced++;
+            } catch (IOException e) {
+                LOG.warn("Error updating {}", stagedFile.file, e);
+                deleteTemporaryFile(stagedFile.tmp);
+            }
+        }
+
+        if (sync) {
+            for (Path directory : directories) {
+                syncDirectory(directory);
+            }
+        }
+        deleteStagingDirectory();
+        return replaced;
+    }
+
+    /**
+     * Removes the temporary files of all the staged files, and the staging directory.
+     */
+    public void rollback() {
+        StagedFile stagedFile;
+        while ((stagedFile = staged.poll()) != null) {
+            deleteTemporaryFile(stagedFile.tmp);
+        }
+        deleteStagingDirectory();
+    }
+
+    /**
+     * Moves a temporary file over its original file, through a temporary file next to the original file if it can
+     * not be moved atomically from the staging directory.
+     *
+     * @param tmp    the temporary file
+     * @param target the original file
+     * @throws IOException if could not replace the original file
+     */
+    private void replace(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Path sibling = target.resolveSibling(target.getFileName() + tmpSuffix);
+            try {
+                Files.copy(tmp, sibling, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+                if (sync) {
+                    force(sibling);
+                }
+                FileUtil.moveReplacing(sibling, target);
+            } finally {
+                Files.deleteIfExists(sibling);
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    private static void deleteTemporaryFile(Path tmp) {
+        try {
+            Files.deleteIfExists(tmp);
+        } catch (IOException e) {
+            LOG.warn("Could not delete temporary file {}", tmp, e);
+        }
+    }
+
+    private void deleteStagingDirectory() {
+        try {
+            Files.deleteIfExists(stagingDirectory);
+        } catch (IOException e) {
+            LOG.warn("Could not delete staging directory {}", stagingDirectory, e);
+        }
+    }
+
+    /**
+     * Flushes a file to the storage device.
+     *
+     * @param file the file to flush
+     * @throws IOException if could not flush the file
+     */
+    private static void force(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Backups a file, as a hard link to the original file if possible since its content will be replaced by another
+     * file.
+     *
+     * @param file the file to backup
+     * @throws IOException if could not backup the file
+     */
+    private static void backup(File file) throws IOException {
+        Path backupFile = FileUtil.getBackupFile(file).toPath();
+
+        // always delete backup file, before the renaming
+        Files.deleteIfExists(backupFile);
+
+        LOG.debug(" - backup original file {}", file);
+        try {
+            Files.createLink(backupFile, file.toPath());
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(file.toPath(), backupFile, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+    }
+
+    /**
+     * Flushes the entries of a directory to the storage device.
+     * <p>
+     * Not all platforms can open a directory, in which case nothing is done.
+     *
+     * @param directory the directory to flush
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            LOG.debug("Could not sync directory {}", directory, e);
+        }
+    }
+
+    /**
+     * Writes the new content of a file.
+     */
+    private interface ContentWriter {
+
+        /**
+         * @param tmp the temporary file to write
+         * @throws IOException if could not write the new content
+         */
+        void write(Path tmp) throws IOException;
+    }
+
+    /**
+     * A staged file, with the temporary file of its new content.
+     */
+    private static class StagedFile {
+
+        private final File file;
+
+        private final Path tmp;
+
+        StagedFile(File file, Path tmp) {
+            this.file = file;
+            this.tmp = tmp;
+        }
+    }
+}
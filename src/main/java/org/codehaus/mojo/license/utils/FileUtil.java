@@ -28,11 +28,20 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.io.StringReader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
@@ -128,6 +137,146 @@ public class FileUtil {
         }
     }
 
+    /**
+     * Writes the new content of the given file to another file, with the permissions of the original file.
+     * <p>
+     * The new content is the given {@code head} (written as {@link #printString(File, String, String)} does) followed
+     * by the original content of the file from {@code tailOffset}. If {@code printTail} is {@code true}, the tail is
+     * decoded and written again as {@link #printString(File, String, String)} does, streaming it with a bounded
+     * buffer; otherwise its bytes are copied with
+     * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}, without being decoded nor
+     * encoded again. Use {@link #isPrintedAsIs(CharSequence, int)} to check that the tail of a content does not need
+     * to be written again.
+     *
+     * @param file       the file to update
+     * @param tmp        where to write the new content of the file
+     * @param head       the new head of the file
+     * @param tailOffset offset of the first byte of the file to keep, {@code -1} to replace the whole content
+     * @param printTail  {@code true} to print the tail with the platform line separator
+     * @param encoding   the encoding to read and write in
+     * @throws IOException if IO pb
+     * @see FileReplacementBatch
+     * @since 2.8.0
+     */
+    public static void writeContent(
+            File file, Path tmp, String head, long tailOffset, boolean printTail, String encoding) throws IOException {
+        Path target = file.toPath();
+        printString(tmp.toFile(), head, encoding);
+        if (tailOffset >= 0 && printTail) {
+            try (FileChannel in = FileChannel.open(target, StandardOpenOption.READ);
+                    Reader reader = new InputStreamReader(Channels.newInputStream(in.position(tailOffset)), encoding);
+                    Writer writer =
+                            new OutputStreamWriter(Files.newOutputStream(tmp, StandardOpenOption.APPEND), encoding)) {
+                printLines(reader, writer);
+            }
+        } else if (tailOffset >= 0) {
+            try (FileChannel in = FileChannel.open(target, StandardOpenOption.READ);
+                    FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                long position = tailOffset;
+                long size = in.size();
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+            }
+        }
+        copyPermissions(target, tmp);
+    }
+
+    /**
+     * Copies the POSIX permissions of a file to another one, if the file system supports them.
+     *
+     * @param source the file whose permissions to copy
+     * @param target the file to update
+     * @throws IOException if IO pb
+     */
+    static void copyPermissions(Path source, Path target) throws IOException {
+        PosixFileAttributeView attributes = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        if (attributes != null) {
+            Files.setPosixFilePermissions(target, attributes.readAttributes().permissions());
+        }
+    }
+
+    /**
+     * Moves a file over another one, atomically if the file system supports it.
+     *
+     * @param source the file to move
+     * @param target the file to replace
+     * @throws IOException if IO pb
+     * @since 2.8.0
+     */
+    public static void moveReplacing(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Copies the given content, ending each of its lines with the platform line separator as
+     * {@link #printString(File, String, String)} does.
+     *
+     * @param in  the content to copy
+     * @param out where to copy it
+     * @throws IOException if IO pb
+     */
+    private static void printLines(Reader in, Writer out) throws IOException {
+        String lineSeparator = System.lineSeparator();
+        char[] buffer = new char[8192];
+        // last char read, to join a \r\n cut between two reads and to end the last line
+        char last = '\n';
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (c == '\r' || c == '\n') {
+                    out.write(buffer, start, i - start);
+                    if (c == '\r' || last != '\r') {
+                        out.write(lineSeparator);
+                    }
+                    start = i + 1;
+                }
+                last = c;
+            }
+            out.write(buffer, start, read - start);
+        }
+        if (last != '\r' && last != '\n') {
+            out.write(lineSeparator);
+        }
+    }
+
+    /**
+     * Checks if {@link #printString(File, String, String)} would write the given content from {@code from} as it is,
+     * says if all its lines end with the platform line separator.
+     *
+     * @param content the content to check
+     * @param from    index of the first char to check
+     * @return {@code true} if the content from {@code from} would be written unchanged
+     * @since 2.8.0
+     */
+    public static boolean isPrintedAsIs(CharSequence content, int from) {
+        String lineSeparator = System.lineSeparator();
+        int length = content.length();
+        int end = length - lineSeparator.length();
+        if (from > end || !lineSeparator.contentEquals(content.subSequence(end, length))) {
+            return false;
+        }
+        boolean crlf = "\r\n".equals(lineSeparator);
+        for (int i = from; i < length; i++) {
+            char c = content.charAt(i);
+            if (c == '\r') {
+                if (!crlf || i + 1 == length || content.charAt(i + 1) != '\n') {
+                    return false;
+                }
+                i++;
+            } else if (c == '\n' && crlf) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static List<File> orderFiles(Collection<File> files) {
         List<File> result = new ArrayList<>(files);
         Collections.sort(result, new Comparator<File>() {
@@ -0,0 +1,111 @@
+package org.codehaus.mojo.license.utils;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.io.IOUtils;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamPumper;
+
+/**
+ * Finds the files changed in a git working tree, using the {@code git} executable.
+ *
+ * @since 2.8.0
+ */
+public class GitChangedFiles {
+
+    /**
+     * Gets the files changed since the common ancestor of the given reference and {@code HEAD}.
+     * <p>
+     * Committed, staged, unstaged and untracked (but not ignored) files are all reported, deleted files are not.
+     *
+     * @param directory a directory of the working tree
+     * @param baseRef   the reference (branch, tag or commit) to compare with
+     * @return the changed files, as absolute and normalized files resolved from {@code directory} (symbolic links are
+     *      not resolved)
+     * @throws IOException if could not run git, or if git failed
+     */
+    public static Set<File> getChangedFiles(File directory, String baseRef) throws IOException {
+        return getChangedFiles(directory, baseRef, "git");
+    }
+
+    static Set<File> getChangedFiles(File directory, String baseRef, String git) throws IOException {
+        // resolve the top level directory from the given one, not as the real path given by --show-toplevel
+        File topLevel = new File(directory.getAbsoluteFile(), git(git, directory, "rev-parse", "--show-cdup").trim());
+        String mergeBase = git(git, topLevel, "merge-base", baseRef, "HEAD").trim();
+
+        // with -z, paths are written verbatim (neither quoted nor escaped) and separated by NUL chars
+        Set<File> result = new HashSet<>();
+        addFiles(result, topLevel, git(git, topLevel, "diff", "-z", "--name-only", "--diff-filter=d", mergeBase));
+        addFiles(result, topLevel, git(git, topLevel, "ls-files", "-z", "--others", "--exclude-standard"));
+        return result;
+    }
+
+    private static void addFiles(Set<File> files, File topLevel, String output) {
+        for (String path : output.split("\0")) {
+            if (!path.isEmpty()) {
+                files.add(new File(topLevel, path).toPath().normalize().toFile());
+            }
+        }
+    }
+
+    private static String git(String git, File workingDirectory, String... arguments) throws IOException {
+        Commandline commandline = new Commandline(git);
+        commandline.setWorkingDirectory(workingDirectory);
+        commandline.addArguments(arguments);
+
+        // the output is read as bytes: the line based consumers would alter the line ends in paths
+        CommandLineUtils.StringStreamConsumer err = new CommandLineUtils.StringStreamConsumer();
+        byte[] out;
+        int exitCode;
+        try {
+            Process process = commandline.execute();
+            StreamPumper errPumper = new StreamPumper(process.getErrorStream(), err);
+            errPumper.start();
+            try (InputStream in = process.getInputStream()) {
+                out = IOUtils.toByteArray(in);
+            }
+            exitCode = process.waitFor();
+            errPumper.waitUntilDone();
+        } catch (CommandLineException e) {
+            throw new IOException("Could not execute " + commandline, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while executing " + commandline, e);
+        }
+        if (exitCode != 0) {
+            throw new IOException(
+                    "Command " + commandline + " failed with exit code " + exitCode + ": " + err.getOutput().trim());
+        }
+        return new String(out, StandardCharsets.UTF_8);
+    }
+}
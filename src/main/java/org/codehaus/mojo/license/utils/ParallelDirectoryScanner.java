@@ -0,0 +1,257 @@
+package org.codehaus.mojo.license.utils;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.codehaus.plexus.util.MatchPatterns;
+import org.codehaus.plexus.util.SelectorUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds the files matching some include and exclude patterns under a base directory, walking sub directories in
+ * parallel.
+ * <p>
+ * Patterns have the same syntax and meaning than for the plexus {@code DirectoryScanner}, and are compiled once into
+ * {@link PathMatcher}s (matching paths relative to the base directory). Unlike the {@code DirectoryScanner}, a
+ * directory excluded with all its content (like with {@code **}{@code /node_modules/**} or {@code target/**}) is
+ * never listed.
+ * <p>
+ * Directories are listed on a {@link ForkJoinPool} dedicated to the scanner, which matters on slow (network) file
+ * systems where listing a directory costs much more than matching its entries.
+ * <p>
+ * Symbolic links to directories are followed, except when they lead back to a directory of the branch being walked,
+ * whatever the number of links involved in the loop.
+ *
+ * @since 2.8.0
+ */
+public class ParallelDirectoryScanner {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelDirectoryScanner.class);
+
+    /**
+     * Pattern matching any number of directories.
+     */
+    private static final String DEEP_TREE_MATCH = "**";
+
+    /**
+     * Matches included files.
+     */
+    private final PathMatcher included;
+
+    /**
+     * Matches excluded files.
+     */
+    private final PathMatcher excluded;
+
+    /**
+     * Matches directories which may contain included files.
+     */
+    private final PathMatcher mayHoldIncluded;
+
+    /**
+     * Matches directories whose whole content is excluded.
+     */
+    private final PathMatcher excludedWithContent;
+
+    /**
+     * Number of threads used to list directories.
+     */
+    private final int threads;
+
+    /**
+     * @param includes patterns of files to include ({@code null} or empty to include all files)
+     * @param excludes patterns of files to exclude (may be {@code null})
+     * @param threads  number of threads used to list directories, lower than {@code 1} to use as many threads as
+     *                 available processors
+     */
+    public ParallelDirectoryScanner(String[] includes, String[] excludes, int threads) {
+        List<String> includePatterns = normalizePatterns(includes == null || includes.length == 0
+                ? new String[] {DEEP_TREE_MATCH}
+                : includes);
+        List<String> excludePatterns = normalizePatterns(excludes == null ? new String[0] : excludes);
+
+        // a pattern like dir/** excludes the directory dir with all its content
+        List<String> contentExcludePatterns = new ArrayList<>();
+        for (String pattern : excludePatterns) {
+            if (pattern.equals(DEEP_TREE_MATCH)) {
+                contentExcludePatterns.add(pattern);
+            } else if (!pattern.startsWith(SelectorUtils.REGEX_HANDLER_PREFIX)
+                    && !pattern.startsWith(SelectorUtils.ANT_HANDLER_PREFIX)
+                    && pattern.endsWith(File.separator + DEEP_TREE_MATCH)) {
+                contentExcludePatterns.add(
+                        pattern.substring(0, pattern.length() - DEEP_TREE_MATCH.length() - 1));
+            }
+        }
+
+        MatchPatterns includeMatcher = MatchPatterns.from(includePatterns);
+        MatchPatterns excludeMatcher = MatchPatterns.from(excludePatterns);
+        MatchPatterns contentExcludeMatcher = MatchPatterns.from(contentExcludePatterns);
+        this.included = path -> includeMatcher.matches(path.toString(), true);
+        this.excluded = path -> excludeMatcher.matches(path.toString(), true);
+        this.mayHoldIncluded = path -> includeMatcher.matchesPatternStart(path.toString(), true);
+        this.excludedWithContent = path -> contentExcludeMatcher.matches(path.toString(), true);
+        this.threads = threads < 1 ? Runtime.getRuntime().availableProcessors() : threads;
+    }
+
+    /**
+     * Scans the given base directory.
+     *
+     * @param basedir the directory to scan
+     * @return the paths (relative to {@code basedir}) of the included files, sorted
+     * @throws IOException if could not list the base directory
+     */
+    public String[] scan(File basedir) throws IOException {
+        Path root = basedir.toPath();
+        if (!Files.isDirectory(root)) {
+            throw new IOException("Can not scan " + basedir + ", it is not a directory");
+        }
+        Collection<String> files = new ConcurrentLinkedQueue<>();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new ScanDirectory(root, root, root.toRealPath(), null, files));
+        } finally {
+            pool.shutdown();
+        }
+        String[] result = files.toArray(new String[0]);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static List<String> normalizePatterns(String[] patterns) {
+        List<String> result = new ArrayList<>(patterns.length);
+        for (String pattern : patterns) {
+            String normalized = pattern.trim();
+            if (!normalized.startsWith(SelectorUtils.REGEX_HANDLER_PREFIX)) {
+                normalized = normalized.replace('/', File.separatorChar).replace('\\', File.separatorChar);
+                if (normalized.endsWith(File.separator)) {
+                    normalized += DEEP_TREE_MATCH;
+                }
+            }
+            result.add(normalized);
+        }
+        return result;
+    }
+
+    /**
+     * Lists a directory, registers its included files and scans its sub directories in parallel.
+     */
+    private class ScanDirectory extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Path root;
+
+        private final Path directory;
+
+        /**
+         * Real path of {@link #directory}, symbolic links resolved.
+         */
+        private final Path realDirectory;
+
+        /**
+         * The scan of the parent directory, {@code null} for the base directory.
+         */
+        private final ScanDirectory parent;
+
+        private final transient Collection<String> files;
+
+        ScanDirectory(Path root, Path directory, Path realDirectory, ScanDirectory parent, Collection<String> files) {
+            this.root = root;
+            this.directory = directory;
+            this.realDirectory = realDirectory;
+            this.parent = parent;
+            this.files = files;
+        }
+
+        @Override
+        protected void compute() {
+            List<ScanDirectory> subDirectories = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                try {
+                    for (Path entry : entries) {
+                        Path relativePath = root.relativize(entry);
+                        if (Files.isDirectory(entry)) {
+                            if (mayHoldIncluded.matches(relativePath) && !excludedWithContent.matches(relativePath)) {
+                                Path realEntry = toRealPath(entry);
+                                if (realEntry != null) {
+                                    subDirectories.add(new ScanDirectory(root, entry, realEntry, this, files));
+                                }
+                            }
+                        } else if (included.matches(relativePath) && !excluded.matches(relativePath)) {
+                            files.add(relativePath.toString());
+                        }
+                    }
+                } catch (DirectoryIteratorException e) {
+                    throw e.getCause();
+                }
+            } catch (IOException e) {
+                // as the DirectoryScanner does, skip directories which can not be listed
+                LOG.debug("Could not list directory {}", directory, e);
+                return;
+            }
+            invokeAll(subDirectories);
+        }
+
+        /**
+         * Resolves the real path of a sub directory.
+         *
+         * @param entry a sub directory of {@link #directory}
+         * @return the real path of the entry, or {@code null} if it is a symbolic link which can not be resolved or
+         * which leads to a directory already being walked by this branch of the scan
+         */
+        private Path toRealPath(Path entry) {
+            if (!Files.isSymbolicLink(entry)) {
+                // only links need to be resolved, the real path of the directory is already known
+                return realDirectory.resolve(entry.getFileName());
+            }
+            Path realEntry;
+            try {
+                realEntry = entry.toRealPath();
+            } catch (IOException e) {
+                return null;
+            }
+            for (ScanDirectory scan = this; scan != null; scan = scan.parent) {
+                if (scan.realDirectory.equals(realEntry)) {
+                    LOG.debug("Skip symbolic link {} which leads to {} again", entry, realEntry);
+                    return null;
+                }
+            }
+            return realEntry;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.codehaus.mojo.license;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.settings.crypto.SettingsDecrypter;
+import org.codehaus.mojo.license.download.License;
+import org.codehaus.mojo.license.download.LicenseSummaryReader;
+import org.codehaus.mojo.license.download.LicensedArtifact;
+import org.codehaus.mojo.license.download.LicensedArtifactResolver;
+import org.codehaus.mojo.license.download.ProjectLicenseInfo;
+import org.codehaus.mojo.license.utils.FileUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test for the downloads of {@link AbstractDownloadLicensesMojo}.
+ */
+class AbstractDownloadLicensesMojoTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void concurrentDownloadsStoreTheSameFilesAsSequentialDownloads() throws Exception {
+        final Path sources = Files.createDirectories(tempDir.resolve("sources"));
+        final Path apache = sources.resolve("LICENSE-2.0.txt");
+        Files.write(apache, "Apache License\nVersion 2.0\n".getBytes(StandardCharsets.UTF_8));
+        final Path mit = sources.resolve("mit.txt");
+        Files.write(mit, "MIT License\n".getBytes(StandardCharsets.UTF_8));
+        final Map<String, String> licenseUrlFileNames = new LinkedHashMap<>();
+        /* The URL does not match: the preferred name can only be found by the sha1 of the downloaded content */
+        licenseUrlFileNames.put("asl2.txt", "sha1:" + FileUtil.sha1(apache) + " \\Qhttps://example.com/asl2\\E");
+
+        final List<LicensedArtifact> dependencies = Arrays.asList(
+                artifact("first", new License("Apache", apache.toUri().toString(), null, null)),
+                artifact("second", new License("MIT", mit.toUri().toString(), null, null)),
+                artifact("third", new License("Apache", apache.toUri().toString(), null, null)));
+
+        final Path sequential = tempDir.resolve("sequential");
+        final List<String> sequentialFiles = download(sequential, 1, licenseUrlFileNames, dependencies);
+        final Path concurrent = tempDir.resolve("concurrent");
+        final List<String> concurrentFiles = download(concurrent, 4, licenseUrlFileNames, dependencies);
+
+        assertEquals(Arrays.asList("asl2.txt", "mit - mit.txt", "asl2.txt"), sequentialFiles);
+        assertEquals(sequentialFiles, concurrentFiles);
+        assertEquals(list(sequential.resolve("licenses")), list(concurrent.resolve("licenses")));
+        assertEquals(Arrays.asList("asl2.txt", "mit - mit.txt"), list(concurrent.resolve("licenses")));
+    }
+
+    /**
+     * Runs the mojo with the given number of download threads.
+     *
+     * @return the license file of each dependency, as written in the licenses.xml file
+     */
+    private static List<String> download(
+            Path outputDirectory,
+            int downloadThreads,
+            Map<String, String> licenseUrlFileNames,
+            List<LicensedArtifact> dependencies)
+            throws Exception {
+        final TestableDownloadLicensesMojo mojo = new TestableDownloadLicensesMojo(dependencies);
+        mojo.licensesOutputDirectory = outputDirectory.resolve("licenses").toFile();
+        mojo.licensesOutputFile = outputDirectory.resolve("licenses.xml").toFile();
+        mojo.licensesOutputFileEol = Eol.LF;
+        mojo.licenseUrlFileNames = licenseUrlFileNames;
+        mojo.errorRemedy = AbstractDownloadLicensesMojo.ErrorRemedy.failFast;
+        MojoParameters.set(mojo, "licensesOutputFileEncoding", "UTF-8");
+        MojoParameters.set(mojo, "licensesErrorsFile", outputDirectory.resolve("licenses-errors.xml").toFile());
+        MojoParameters.set(mojo, "proxies", Collections.emptyList());
+        MojoParameters.set(mojo, "writeVersions", true);
+        MojoParameters.set(mojo, "downloadThreads", downloadThreads);
+        MojoParameters.set(mojo, "downloadThreadsPerHost", 2);
+
+        mojo.execute();
+
+        final List<String> files = new ArrayList<>();
+        for (ProjectLicenseInfo dep : LicenseSummaryReader.parseLicenseSummary(mojo.licensesOutputFile)) {
+            files.add(dep.getLicenses().get(0).getFile());
+        }
+        return files;
+    }
+
+    private static List<String> list(Path directory) throws IOException {
+        final List<String> result = new ArrayList<>();
+        for (File file : directory.toFile().listFiles()) {
+            result.add(file.getName());
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static LicensedArtifact artifact(String artifactId, License license) {
+        final DefaultArtifact artifact = new DefaultArtifact(
+                "org.example", artifactId, "1.0.0", "compile", "jar", null, new DefaultArtifactHandler());
+        return LicensedArtifact.builder(artifact, false).license(license).build();
+    }
+
+    /**
+     * Download mojo of a fixed list of dependencies.
+     */
+    private static class TestableDownloadLicensesMojo extends AbstractDownloadLicensesMojo {
+
+        private final List<LicensedArtifact> dependencies;
+
+        TestableDownloadLicensesMojo(List<LicensedArtifact> dependencies) {
+            super(mock(LicensedArtifactResolver.class), mock(SettingsDecrypter.class));
+            this.dependencies = dependencies;
+        }
+
+        @Override
+        protected boolean isSkip() {
+            return false;
+        }
+
+        @Override
+        protected Map<String, LicensedArtifact> getDependencies() {
+            final Map<String, LicensedArtifact> result = new LinkedHashMap<>();
+            for (LicensedArtifact dependency : dependencies) {
+                result.put(dependency.getArtifactId(), dependency);
+            }
+            return result;
+        }
+    }
+}
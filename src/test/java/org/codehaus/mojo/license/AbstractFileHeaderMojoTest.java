@@ -0,0 +1,96 @@
+package org.codehaus.mojo.license;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.codehaus.mojo.license.header.HeaderScanner;
+import org.codehaus.mojo.license.utils.FileContentReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the streaming of the files in {@link AbstractFileHeaderMojo}.
+ */
+class AbstractFileHeaderMojoTest {
+
+    private static final int WINDOW_SIZE = 64;
+
+    private final HeaderScanner scanner = new HeaderScanner("%%Ignore-License", "#%L", "#L%");
+
+    private final FileContentReader contentReader = new FileContentReader("UTF-8");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void streamedHeadEndsAfterHeader() throws IOException {
+        String content = "#%L\n# d\n# %%\n# l\n#L%\nkey=value\n" + tail();
+
+        assertEquals(content.indexOf("key"), getStreamedHeadEnd(content));
+    }
+
+    @Test
+    void streamedHeadEndsAtLastLineOfWindowWithoutHeader() throws IOException {
+        String content = "a=1\nb=2\n" + tail();
+
+        assertEquals(content.lastIndexOf('\n', WINDOW_SIZE - 2) + 1, getStreamedHeadEnd(content));
+    }
+
+    @Test
+    void headerLongerThanWindowIsNotStreamed() throws IOException {
+        StringBuilder content = new StringBuilder("#%L\n# d\n# %%\n");
+        for (int i = 0; i < 10; i++) {
+            content.append("# a license line longer than the window ").append(i).append('\n');
+        }
+        content.append("#L%\nkey=value\n");
+
+        assertEquals(-1, getStreamedHeadEnd(content.toString()));
+    }
+
+    @Test
+    void ignoredFileIsNotModified() throws IOException {
+        assertEquals(0, getStreamedHeadEnd("# %%Ignore-License\nkey=value\n" + tail()));
+    }
+
+    private int getStreamedHeadEnd(String content) throws IOException {
+        Path file = tempDir.resolve("file.properties");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        FileContentReader.Content window = contentReader.readPrefix(file.toFile(), WINDOW_SIZE);
+        return AbstractFileHeaderMojo.getStreamedHeadEnd(window, scanner.scan(window.getChars()));
+    }
+
+    private static String tail() {
+        StringBuilder tail = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            tail.append("key").append(i).append("=value\n");
+        }
+        return tail.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package org.codehaus.mojo.license;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the {@link Eol}.
+ *
+ * @since 2.8.0
+ */
+class EolTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAutodetect() throws IOException {
+        assertEquals(Eol.LF, autodetect("<a/>\n<b/>\r\n", StandardCharsets.UTF_8));
+        assertEquals(Eol.CRLF, autodetect("<a/>\r\n<b/>\n", StandardCharsets.UTF_8));
+        assertEquals(Eol.LF, autodetect("<a/>", StandardCharsets.UTF_8));
+        assertEquals(Eol.LF, autodetect("", StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testAutodetectLongFirstLine() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            content.append("é");
+        }
+        assertEquals(Eol.CRLF, autodetect(content + "\r\n", StandardCharsets.UTF_8));
+        assertEquals(Eol.CRLF, autodetect(content + "\r\n", StandardCharsets.UTF_16));
+    }
+
+    @Test
+    void testAutodetectMultiByteCharset() throws IOException {
+        // ഊ is encoded as 0d 0a in UTF-16BE: must not be seen as a \r
+        assertEquals(Eol.LF, autodetect("ഊ\n\r\n", StandardCharsets.UTF_16BE));
+        // Āഀ is encoded as 01 00 0d 00 in UTF-16BE: must not be seen as a \r (00 0d) between two chars
+        assertEquals(Eol.LF, autodetect("Āഀ\n", StandardCharsets.UTF_16BE));
+        assertEquals(Eol.CRLF, autodetect("a\r\n", StandardCharsets.UTF_16));
+        assertEquals(Eol.CRLF, autodetect("a\r\n", Charset.forName("UTF-32")));
+        assertEquals(Eol.LF, autodetect("ഊ\n", Charset.forName("UTF-32")));
+    }
+
+    private Eol autodetect(String content, Charset charset) throws IOException {
+        Path file = tempDir.resolve("licenses.xml");
+        Files.write(file, content.getBytes(charset));
+        return Eol.autodetect(file, charset);
+    }
+}
@@ -0,0 +1,97 @@
+package org.codehaus.mojo.license;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link FileHeaderMetrics}.
+ *
+ * @since 2.8.0
+ */
+class FileHeaderMetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPercentile() {
+        List<FileHeaderMetrics.FileTime> files = Arrays.asList(
+                new FileHeaderMetrics.FileTime(new File("d"), "java", 40L),
+                new FileHeaderMetrics.FileTime(new File("c"), "java", 30L),
+                new FileHeaderMetrics.FileTime(new File("b"), "java", 20L),
+                new FileHeaderMetrics.FileTime(new File("a"), "java", 10L));
+
+        assertEquals(20L, FileHeaderMetrics.percentile(files, 50));
+        assertEquals(40L, FileHeaderMetrics.percentile(files, 99));
+        assertEquals(40L, FileHeaderMetrics.percentile(files, 100));
+        assertEquals(0L, FileHeaderMetrics.percentile(Collections.emptyList(), 50));
+    }
+
+    @Test
+    void testWrite() throws IOException {
+        Path source = Files.createDirectories(tempDir.resolve("src/main/java"));
+        File file = Files.write(source.resolve("A.java"), new byte[12]).toFile();
+        FileHeaderMetrics metrics = new FileHeaderMetrics(true);
+        long time = metrics.start();
+        metrics.lap(FileHeaderMetrics.Phase.READ, time, 12);
+        metrics.addFile("java", file, 2_000_000L);
+        FileStateResult result = new FileStateResult(0, Collections.emptySet());
+        result.add(FileState.add, file);
+
+        File report = tempDir.resolve("target/metrics.json").toFile();
+        metrics.write(report, tempDir.toFile(), 2, 5_000_000L, result);
+
+        String json = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"wallTimeMs\": 5.000"), json);
+        assertTrue(json.contains("\"java\": {\n      \"files\": 1,\n      \"bytes\": 12,"), json);
+        assertTrue(json.contains("\"add\": 1"), json);
+        assertTrue(json.contains("\"p50Ms\": 2.000"), json);
+        assertTrue(json.contains("\"file\": \"src/main/java/A.java\""), json);
+        assertTrue(json.contains("\"directory\": \"src/main/java\""), json);
+    }
+
+    @Test
+    void testDisabled() {
+        FileHeaderMetrics metrics = new FileHeaderMetrics(false);
+
+        assertFalse(metrics.isEnabled());
+        assertEquals(0L, metrics.start());
+        assertEquals(0L, metrics.lap(FileHeaderMetrics.Phase.READ, 0L));
+    }
+}
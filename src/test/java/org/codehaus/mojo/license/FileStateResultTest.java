@@ -0,0 +1,67 @@
+package org.codehaus.mojo.license;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link FileStateResult}.
+ *
+ * @since 2.8.0
+ */
+class FileStateResultTest {
+
+    @Test
+    void testCountsAndSample() {
+        FileStateResult result = new FileStateResult(2, EnumSet.of(FileState.add));
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            result.add(FileState.uptodate, new File("u" + i));
+            result.add(FileState.add, new File("a" + i));
+        });
+
+        assertEquals(1000, result.getCount(FileState.uptodate));
+        assertEquals(2, result.getFiles(FileState.uptodate).size());
+        assertEquals(1000, result.getCount(FileState.add));
+        assertEquals(1000, result.getFiles(FileState.add).size());
+        assertEquals(0, result.getCount(FileState.fail));
+        assertEquals(EnumSet.of(FileState.uptodate, FileState.add), result.getStates());
+    }
+
+    @Test
+    void testNoFileRetained() {
+        FileStateResult result = new FileStateResult(0, Collections.emptySet());
+        FileState.update.addFile(new File("A.java"), result);
+
+        assertEquals(1, result.getCount(FileState.update));
+        assertTrue(result.getFiles(FileState.update).isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package org.codehaus.mojo.license;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.lang.reflect.Field;
+
+/**
+ * Accesses the fields of a mojo as Maven does to inject its parameters, including the private ones.
+ */
+final class MojoParameters {
+
+    private MojoParameters() {}
+
+    /**
+     * Sets a field of a mojo.
+     *
+     * @param mojo  the mojo
+     * @param name  name of the field, declared by the class of the mojo or by one of its super classes
+     * @param value value of the field
+     * @throws ReflectiveOperationException if the mojo has no such field
+     */
+    static void set(Object mojo, String name, Object value) throws ReflectiveOperationException {
+        getField(mojo, name).set(mojo, value);
+    }
+
+    /**
+     * Gets a field of a mojo.
+     *
+     * @param mojo the mojo
+     * @param name name of the field, declared by the class of the mojo or by one of its super classes
+     * @return the value of the field
+     * @throws ReflectiveOperationException if the mojo has no such field
+     */
+    static Object get(Object mojo, String name) throws ReflectiveOperationException {
+        return getField(mojo, name).get(mojo);
+    }
+
+    private static Field getField(Object mojo, String name) throws NoSuchFieldException {
+        for (Class<?> c = mojo.getClass(); c != null; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                // look in the super class
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+}
@@ -0,0 +1,223 @@
+package org.codehaus.mojo.license;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectHelper;
+import org.codehaus.mojo.license.header.transformer.JavaFileHeaderTransformer;
+import org.codehaus.mojo.license.model.LicenseStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test for {@link RemoveFileHeaderMojo}.
+ */
+class RemoveFileHeaderMojoTest {
+
+    private static final String HEADER = "/*\n * #%L\n * Test\n * %%\n * Copyright (C) 2026 Codehaus\n * #L%\n */\n";
+
+    private static final String BODY = "package a;\n\nclass A {}\n";
+
+    private static final int WINDOW_SIZE = 256;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void removeHeadersWithSeveralThreads() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            write("A" + i + ".java", HEADER + BODY);
+        }
+        write("NoHeader.java", BODY);
+
+        RemoveFileHeaderMojo mojo = newMojo(4, 0);
+        mojo.execute();
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(BODY, read("A" + i + ".java"));
+        }
+        assertEquals(BODY, read("NoHeader.java"));
+        assertEquals(50, getResult(mojo).getCount(FileState.remove));
+        assertEquals(1, getResult(mojo).getCount(FileState.uptodate));
+        // the new contents were staged out of the sources
+        assertEquals(51, tempDir.resolve("src").toFile().list().length);
+        String timestamp = String.valueOf(MojoParameters.get(mojo, "timestamp"));
+        assertFalse(Files.exists(tempDir.resolve("staging").resolve(timestamp)));
+    }
+
+    @Test
+    void keepBackup() throws Exception {
+        write("A.java", HEADER + BODY);
+
+        RemoveFileHeaderMojo mojo = newMojo(2, 0);
+        MojoParameters.set(mojo, "keepBackup", true);
+        mojo.execute();
+
+        assertEquals(BODY, read("A.java"));
+        assertEquals(HEADER + BODY, read("A.java~"));
+    }
+
+    @Test
+    void dryRun() throws Exception {
+        write("A.java", HEADER + BODY);
+
+        RemoveFileHeaderMojo mojo = newMojo(2, 0);
+        MojoParameters.set(mojo, "dryRun", true);
+        mojo.execute();
+
+        assertEquals(HEADER + BODY, read("A.java"));
+        assertEquals(1, getResult(mojo).getCount(FileState.remove));
+        assertEquals(1, tempDir.resolve("src").toFile().list().length);
+    }
+
+    @Test
+    void removeHeaderInWindow() throws Exception {
+        write("A.java", HEADER + BODY + padding());
+
+        RemoveFileHeaderMojo mojo = newMojo(2, WINDOW_SIZE);
+        mojo.execute();
+
+        assertEquals(BODY + padding(), read("A.java"));
+        assertEquals(1, getResult(mojo).getCount(FileState.remove));
+    }
+
+    @Test
+    void keepHeaderOutOfWindow() throws Exception {
+        // the comment follows the window: the file is considered to have no header
+        String content = "package a;\n" + padding() + HEADER + "class A {}\n";
+        write("A.java", content);
+
+        RemoveFileHeaderMojo mojo = newMojo(2, WINDOW_SIZE);
+        mojo.execute();
+
+        assertEquals(content, read("A.java"));
+        assertEquals(1, getResult(mojo).getCount(FileState.uptodate));
+    }
+
+    @Test
+    void ignoreTagInWindow() throws Exception {
+        String content = "// %%Ignore-License\n" + HEADER + BODY + padding();
+        write("A.java", content);
+
+        RemoveFileHeaderMojo mojo = newMojo(2, WINDOW_SIZE);
+        mojo.execute();
+
+        assertEquals(content, read("A.java"));
+        assertEquals(1, getResult(mojo).getCount(FileState.ignore));
+    }
+
+    @Test
+    void ignoreTagOutOfWindow() throws Exception {
+        // the ignore tag follows the window: the file is reported up to date instead of ignored
+        String content = BODY + padding() + "// %%Ignore-License\n";
+        write("A.java", content);
+
+        RemoveFileHeaderMojo mojo = newMojo(2, WINDOW_SIZE);
+        mojo.execute();
+
+        assertEquals(content, read("A.java"));
+        assertEquals(1, getResult(mojo).getCount(FileState.uptodate));
+
+        // without the window, the whole file is read
+        mojo = newMojo(2, 0);
+        mojo.execute();
+
+        assertEquals(content, read("A.java"));
+        assertEquals(1, getResult(mojo).getCount(FileState.ignore));
+    }
+
+    private RemoveFileHeaderMojo newMojo(int threads, int headerWindowSize) throws Exception {
+        RemoveFileHeaderMojo mojo = new TestableRemoveFileHeaderMojo();
+        MavenProject project = new MavenProject();
+        project.setFile(tempDir.resolve("pom.xml").toFile());
+        MojoParameters.set(mojo, "project", project);
+        MojoParameters.set(mojo, "encoding", "UTF-8");
+        MojoParameters.set(mojo, "licenseName", "apache_v2");
+        MojoParameters.set(mojo, "roots", new String[] {tempDir.resolve("src").toString()});
+        MojoParameters.set(mojo, "includes", new String[] {"**/*.java"});
+        MojoParameters.set(mojo, "threads", threads);
+        MojoParameters.set(mojo, "headerWindowSize", headerWindowSize);
+        MojoParameters.set(mojo, "stagingDirectory", tempDir.resolve("staging").toFile());
+        return mojo;
+    }
+
+    private static FileStateResult getResult(RemoveFileHeaderMojo mojo) throws ReflectiveOperationException {
+        return (FileStateResult) MojoParameters.get(mojo, "result");
+    }
+
+    private static String padding() {
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 2 * WINDOW_SIZE / 16; i++) {
+            padding.append("// padding line\n");
+        }
+        return padding.toString();
+    }
+
+    private void write(String fileName, String content) throws IOException {
+        Path file = tempDir.resolve("src").resolve(fileName);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read(String fileName) throws IOException {
+        return new String(Files.readAllBytes(tempDir.resolve("src").resolve(fileName)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Mojo loading the licenses of the plugin from its classes directory.
+     * <p>
+     * On Java 9+, other jars of the test class path are looked up first for the licenses of the plugin.
+     */
+    private static class TestableRemoveFileHeaderMojo extends RemoveFileHeaderMojo {
+
+        TestableRemoveFileHeaderMojo() {
+            super(Collections.singletonMap("java", new JavaFileHeaderTransformer()), mock(MavenProjectHelper.class));
+        }
+
+        @Override
+        LicenseStore createLicenseStore() throws MojoExecutionException {
+            try {
+                File classes = new File(LicenseStore.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+                LicenseStore store = new LicenseStore();
+                store.addRepository(new File(classes, LicenseStore.JAR_LICENSE_REPOSITORY).toURI().toURL());
+                store.init();
+                return store;
+            } catch (Exception e) {
+                throw new MojoExecutionException("could not obtain the license repository", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package org.codehaus.mojo.license;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectHelper;
+import org.codehaus.mojo.license.header.transformer.JavaFileHeaderTransformer;
+import org.codehaus.mojo.license.model.LicenseStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test for {@link UpdateFileHeaderMojo}.
+ */
+class UpdateFileHeaderMojoTest {
+
+    private static final String OLD_HEADER = "/*-\n * #%L\n * Test\n * %%\n * Copyright (C) 2026 Codehaus\n * %%\n"
+            + " * Old license\n * #L%\n */\n";
+
+    private static final String BODY = "class A {}\n";
+
+    private static final String OTHER_BODY = "class B {\n    int b;\n}\n";
+
+    private static final int WINDOW_SIZE = 2048;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void deduplicateFilesToAdd() throws Exception {
+        String content = "package a;\n\n" + BODY;
+        String otherContent = "package a;\n\n" + OTHER_BODY;
+        writeAll("src", content, otherContent);
+        writeAll("ref", content, otherContent);
+
+        UpdateFileHeaderMojo mojo = newMojo("src", true);
+        mojo.execute();
+        newMojo("ref", false).execute();
+
+        assertSameContents();
+        assertTrue(read("src", "A1.java").contains("Apache License"));
+        assertTrue(read("src", "A1.java").endsWith(BODY));
+        assertTrue(read("src", "B.java").endsWith(OTHER_BODY));
+        assertEquals(4, getResult(mojo).getCount(FileState.add));
+        assertEquals(2, getProcessedContents(mojo).size());
+    }
+
+    @Test
+    void deduplicateFilesToUpdate() throws Exception {
+        String content = "package a;\n\n" + OLD_HEADER + BODY;
+        String otherContent = "package a;\n\n" + OLD_HEADER + OTHER_BODY;
+        writeAll("src", content, otherContent);
+        writeAll("ref", content, otherContent);
+
+        UpdateFileHeaderMojo mojo = newMojo("src", true);
+        mojo.execute();
+        newMojo("ref", false).execute();
+
+        assertSameContents();
+        assertTrue(read("src", "A1.java").contains("Apache License"));
+        assertTrue(read("src", "A1.java").endsWith(BODY));
+        assertTrue(read("src", "B.java").endsWith(OTHER_BODY));
+        assertEquals(4, getResult(mojo).getCount(FileState.update));
+        assertEquals(2, getProcessedContents(mojo).size());
+
+        // all files are now up to date, and reported so
+        mojo = newMojo("src", true);
+        mojo.execute();
+        assertEquals(4, getResult(mojo).getCount(FileState.uptodate));
+    }
+
+    @Test
+    void deduplicateFilesAboveMaxSize() throws Exception {
+        String content = "package a;\n\n" + OLD_HEADER + BODY;
+        String otherContent = "package a;\n\n" + OTHER_BODY;
+        writeAll("src", content, otherContent);
+        writeAll("ref", content, otherContent);
+
+        // no new content can be kept, all files are fully processed
+        UpdateFileHeaderMojo mojo = newMojo("src", true);
+        MojoParameters.set(mojo, "maxProcessedContentsSize", 1L);
+        mojo.execute();
+        newMojo("ref", false).execute();
+
+        assertSameContents();
+        assertEquals(3, getResult(mojo).getCount(FileState.update));
+        assertEquals(1, getResult(mojo).getCount(FileState.add));
+        assertEquals(0, getProcessedContents(mojo).size());
+    }
+
+    @Test
+    void uptodateHeaderInWindow() throws Exception {
+        String content = withHeader(BODY) + padding();
+        write("src", "A.java", content);
+
+        UpdateFileHeaderMojo mojo = newMojo("src", WINDOW_SIZE);
+        mojo.execute();
+
+        assertEquals(content, read("src", "A.java"));
+        assertEquals(1, getResult(mojo).getCount(FileState.uptodate));
+    }
+
+    @Test
+    void headerAcrossWindowEnd() throws Exception {
+        // the window ends in the header, the files are fully read
+        String uptodate = withHeader(BODY) + padding();
+        String outdated = "package a;\n\n" + OLD_HEADER + BODY + padding();
+        write("src", "A.java", uptodate);
+        write("src", "B.java", outdated);
+        write("ref", "B.java", outdated);
+
+        UpdateFileHeaderMojo mojo = newMojo("src", uptodate.indexOf("#L%"));
+        mojo.execute();
+        newMojo("ref", 0).execute();
+
+        assertEquals(uptodate, read("src", "A.java"));
+        assertEquals(read("ref", "B.java"), read("src", "B.java"));
+        assertTrue(read("src", "B.java").contains("Apache License"));
+        assertEquals(1, getResult(mojo).getCount(FileState.uptodate));
+        assertEquals(1, getResult(mojo).getCount(FileState.update));
+    }
+
+    @Test
+    void ignoreTagAfterWindow() throws Exception {
+        String content = withHeader(BODY) + padding() + "// %%Ignore-License\n";
+        write("src", "A.java", content);
+
+        // the ignore tag follows the window: the file is reported up to date instead of ignored
+        UpdateFileHeaderMojo mojo = newMojo("src", WINDOW_SIZE);
+        mojo.execute();
+
+        assertEquals(content, read("src", "A.java"));
+        assertEquals(1, getResult(mojo).getCount(FileState.uptodate));
+
+        // without the window, the whole file is read
+        mojo = newMojo("src", 0);
+        mojo.execute();
+
+        assertEquals(content, read("src", "A.java"));
+        assertEquals(1, getResult(mojo).getCount(FileState.ignore));
+    }
+
+    @Test
+    void startTagAfterWindow() throws Exception {
+        String content = withHeader(BODY) + padding() + "/*-\n * #%L\n */\n";
+        write("src", "A.java", content);
+
+        // the second start tag follows the window: the file is reported up to date instead of failed
+        UpdateFileHeaderMojo mojo = newMojo("src", WINDOW_SIZE);
+        mojo.execute();
+
+        assertEquals(content, read("src", "A.java"));
+        assertEquals(1, getResult(mojo).getCount(FileState.uptodate));
+
+        // without the window, the whole file is read
+        mojo = newMojo("src", 0);
+        mojo.execute();
+
+        assertEquals(content, read("src", "A.java"));
+        assertEquals(1, getResult(mojo).getCount(FileState.fail));
+    }
+
+    /**
+     * @return the given body of a file with an up to date header
+     */
+    private String withHeader(String body) throws Exception {
+        write("header", "A.java", "package a;\n\n" + body);
+        newMojo("header", 0).execute();
+        return read("header", "A.java");
+    }
+
+    private static String padding() {
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 2 * WINDOW_SIZE / 16; i++) {
+            padding.append("// padding line\n");
+        }
+        return padding.toString();
+    }
+
+    private UpdateFileHeaderMojo newMojo(String root, int headerWindowSize) throws Exception {
+        UpdateFileHeaderMojo mojo = newMojo(root, false);
+        MojoParameters.set(mojo, "headerWindowSize", headerWindowSize);
+        return mojo;
+    }
+
+    private UpdateFileHeaderMojo newMojo(String root, boolean deduplicateFiles) throws Exception {
+        UpdateFileHeaderMojo mojo = new TestableUpdateFileHeaderMojo();
+        MavenProject project = new MavenProject();
+        project.setFile(tempDir.resolve("pom.xml").toFile());
+        MojoParameters.set(mojo, "project", project);
+        MojoParameters.set(mojo, "encoding", "UTF-8");
+        MojoParameters.set(mojo, "licenseName", "apache_v2");
+        MojoParameters.set(mojo, "projectName", "Test");
+        MojoParameters.set(mojo, "organizationName", "Codehaus");
+        MojoParameters.set(mojo, "inceptionYear", 2026);
+        MojoParameters.set(mojo, "roots", new String[] {tempDir.resolve(root).toString()});
+        MojoParameters.set(mojo, "includes", new String[] {"**/*.java"});
+        MojoParameters.set(
+                mojo, "descriptionTemplate", "/org/codehaus/mojo/license/default-file-header-description.ftl");
+        MojoParameters.set(mojo, "canUpdateLicense", true);
+        MojoParameters.set(mojo, "addJavaLicenseAfterPackage", true);
+        MojoParameters.set(mojo, "useJavaNoReformatCommentStartTag", true);
+        MojoParameters.set(mojo, "stagingDirectory", tempDir.resolve("staging").toFile());
+        MojoParameters.set(mojo, "threads", 2);
+        MojoParameters.set(mojo, "deduplicateFiles", deduplicateFiles);
+        return mojo;
+    }
+
+    private static FileStateResult getResult(AbstractFileHeaderMojo mojo) throws ReflectiveOperationException {
+        return (FileStateResult) MojoParameters.get(mojo, "result");
+    }
+
+    private static Map<?, ?> getProcessedContents(AbstractFileHeaderMojo mojo) throws ReflectiveOperationException {
+        return (Map<?, ?>) MojoParameters.get(mojo, "processedContents");
+    }
+
+    /**
+     * Writes 3 files with the given content and 1 file with the other content.
+     */
+    private void writeAll(String root, String content, String otherContent) throws IOException {
+        for (int i = 1; i <= 3; i++) {
+            write(root, "A" + i + ".java", content);
+        }
+        write(root, "B.java", otherContent);
+    }
+
+    /**
+     * Checks that the deduplicated files have the content of the files processed one by one.
+     */
+    private void assertSameContents() throws IOException {
+        for (String fileName : new String[] {"A1.java", "A2.java", "A3.java", "B.java"}) {
+            assertEquals(read("ref", fileName), read("src", fileName), fileName);
+        }
+        assertNotEquals(read("src", "A1.java"), read("src", "B.java"));
+    }
+
+    private void write(String root, String fileName, String content) throws IOException {
+        Path file = tempDir.resolve(root).resolve(fileName);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read(String root, String fileName) throws IOException {
+        return new String(Files.readAllBytes(tempDir.resolve(root).resolve(fileName)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Mojo loading the licenses of the plugin from its classes directory.
+     * <p>
+     * On Java 9+, other jars of the test class path are looked up first for the licenses of the plugin.
+     */
+    private static class TestableUpdateFileHeaderMojo extends UpdateFileHeaderMojo {
+
+        TestableUpdateFileHeaderMojo() {
+            super(Collections.singletonMap("java", new JavaFileHeaderTransformer()), mock(MavenProjectHelper.class));
+        }
+
+        @Override
+        LicenseStore createLicenseStore() throws MojoExecutionException {
+            try {
+                File classes = new File(LicenseStore.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+                LicenseStore store = new LicenseStore();
+                store.addRepository(new File(classes, LicenseStore.JAR_LICENSE_REPOSITORY).toURI().toURL());
+                store.init();
+                return store;
+            } catch (Exception e) {
+                throw new MojoExecutionException("could not obtain the license repository", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.codehaus.mojo.license.api;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link FileTemplateRenderer}.
+ *
+ * @since 2.8.0
+ */
+class FileTemplateRendererTest {
+
+    @Test
+    void testFileInvariantTemplate() throws Exception {
+        FileTemplateRenderer renderer = newRenderer("/org/codehaus/mojo/license/default-file-header-description.ftl");
+
+        assertTrue(renderer.isFileInvariant());
+        assertEquals("projectName\n$Id:$\n$HeadURL:$", renderer.render(new File("A.java")));
+    }
+
+    @Test
+    void testFileDependentTemplate() throws Exception {
+        FileTemplateRenderer renderer = newRenderer(
+                FreeMarkerHelper.newHelperFromContent("${projectName} - ${file.name}"), FreeMarkerHelper.TEMPLATE);
+
+        assertFalse(renderer.isFileInvariant());
+        assertEquals("projectName - A.java", renderer.render(new File("A.java")));
+        assertEquals("projectName - B.java", renderer.render(new File("B.java")));
+    }
+
+    @Test
+    void testTemplateIteratingParameters() throws Exception {
+        FileTemplateRenderer renderer = newRenderer(
+                FreeMarkerHelper.newHelperFromContent("<#list .data_model?keys?sort as key>${key} </#list>"),
+                FreeMarkerHelper.TEMPLATE);
+
+        assertFalse(renderer.isFileInvariant());
+        assertEquals("addSvnKeyWords file projectName ", renderer.render(new File("A.java")));
+    }
+
+    private FileTemplateRenderer newRenderer(String templateName) throws Exception {
+        return newRenderer(FreeMarkerHelper.newDefaultHelper(), templateName);
+    }
+
+    private FileTemplateRenderer newRenderer(FreeMarkerHelper helper, String templateName) throws Exception {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("projectName", "projectName");
+        parameters.put("addSvnKeyWords", true);
+        return new FileTemplateRenderer(helper.getTemplate(templateName), parameters, "file", new File("pom.xml"));
+    }
+}
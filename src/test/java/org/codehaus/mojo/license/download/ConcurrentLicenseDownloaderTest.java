@@ -0,0 +1,84 @@
+package org.codehaus.mojo.license.download;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.codehaus.mojo.license.download.LicenseDownloader.LicenseDownloadResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentLicenseDownloaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void downloadAll() throws Exception {
+        Path in = Files.createDirectories(tempDir.resolve("in"));
+        Path out = Files.createDirectories(tempDir.resolve("out"));
+        try (LicenseDownloader licenseDownloader = new LicenseDownloader(
+                null, 1000, 1000, 1000, Collections.emptyMap(), StandardCharsets.UTF_8)) {
+            ConcurrentLicenseDownloader downloader = new ConcurrentLicenseDownloader(licenseDownloader, 4, 2);
+            for (int i = 0; i < 10; i++) {
+                Path license = Files.write(in.resolve("license" + i + ".txt"), ("License " + i).getBytes());
+                String url = license.toUri().toString();
+                assertTrue(downloader.add(url, entry(out, "license" + i + ".txt")));
+                assertFalse(downloader.add(url, entry(out, "other.txt")));
+            }
+            String missingUrl = in.resolve("missing.txt").toUri().toString();
+            downloader.add(missingUrl, entry(out, "missing.txt"));
+            String url0 = in.resolve("license0.txt").toUri().toString();
+            assertNull(downloader.take(url0));
+
+            downloader.downloadAll();
+
+            for (int i = 0; i < 10; i++) {
+                String url = in.resolve("license" + i + ".txt").toUri().toString();
+                LicenseDownloadResult result = downloader.take(url);
+                assertTrue(result.isSuccess());
+                assertEquals(out.resolve("license" + i + ".txt").toFile(), result.getFile());
+                assertEquals("License " + i, new String(Files.readAllBytes(result.getFile().toPath())));
+            }
+            assertNull(downloader.take(url0));
+            assertNull(downloader.take("http://example.com/unknown"));
+            assertThrows(IOException.class, () -> downloader.take(missingUrl));
+        }
+    }
+
+    private static FileNameEntry entry(Path dir, String name) {
+        return new FileNameEntry(new File(dir.toFile(), name), false, null);
+    }
+}
@@ -0,0 +1,162 @@
+package org.codehaus.mojo.license.download;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.codehaus.mojo.license.download.LicenseDownloader.LicenseDownloadResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LicenseDownloadCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void putAndGet() throws Exception {
+        LicenseDownloadCache cache = new LicenseDownloadCache(tempDir.toFile());
+        String url = "https://example.com/LICENSE";
+        assertNull(cache.get(url));
+
+        byte[] content = "Some License\r\nText".getBytes(StandardCharsets.UTF_8);
+        LicenseDownloadCache.Entry put =
+                cache.put(url, new ByteArrayInputStream(content), "text/plain", "UTF-8", "\"v1\"", null);
+        assertEquals(DigestUtils.sha1Hex(content), put.getSha1());
+
+        LicenseDownloadCache.Entry entry = new LicenseDownloadCache(tempDir.toFile()).get(url);
+        assertEquals(url, entry.getUrl());
+        assertEquals(put.getSha1(), entry.getSha1());
+        assertEquals(
+                LicenseDownloader.calculateStringChecksum("some license text"), entry.getNormalizedContentChecksum());
+        assertEquals("text/plain", entry.getMimeType());
+        assertEquals("UTF-8", entry.getCharset());
+        assertEquals("\"v1\"", entry.getEtag());
+        assertNull(entry.getLastModified());
+        assertEquals("Some License\r\nText", new String(Files.readAllBytes(entry.getContentFile()), "UTF-8"));
+        assertNull(cache.get("https://example.com/OTHER"));
+
+        Files.delete(entry.getContentFile());
+        assertNull(cache.get(url));
+    }
+
+    @Test
+    void revalidate() throws Exception {
+        AtomicInteger downloads = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/LICENSE", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                downloads.incrementAndGet();
+                byte[] body = "License text".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/plain");
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        try (LicenseDownloader downloader = new LicenseDownloader(
+                null, 1000, 1000, 1000, Collections.emptyMap(), StandardCharsets.UTF_8)) {
+            downloader.setDownloadCache(new LicenseDownloadCache(tempDir.resolve("cache").toFile()));
+            String url = "http://localhost:" + server.getAddress().getPort() + "/LICENSE";
+
+            LicenseDownloadResult first = downloader.downloadLicense(url, entry("first.txt"));
+            LicenseDownloadResult second = downloader.downloadLicense(url, entry("second.txt"));
+
+            assertEquals(1, downloads.get());
+            assertEquals(first.getSha1(), second.getSha1());
+            assertEquals(first.getNormalizedContentChecksum(), second.getNormalizedContentChecksum());
+            assertEquals("License text", new String(Files.readAllBytes(second.getFile().toPath()), "UTF-8"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void authenticatedUrlsAreNotCached() throws Exception {
+        AtomicInteger downloads = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/private/LICENSE", exchange -> {
+            downloads.incrementAndGet();
+            byte[] body = "Private license text".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+        String serverUrl = "http://localhost:" + server.getAddress().getPort() + "/private";
+        LicenseDownloadCache cache = new LicenseDownloadCache(tempDir.resolve("cache").toFile());
+        try (LicenseDownloader downloader = new LicenseDownloader(
+                null,
+                1000,
+                1000,
+                1000,
+                Collections.emptyMap(),
+                StandardCharsets.UTF_8,
+                "user",
+                "secret",
+                serverUrl,
+                Collections.emptyMap())) {
+            downloader.setDownloadCache(cache);
+            String url = serverUrl + "/LICENSE";
+
+            LicenseDownloadResult first = downloader.downloadLicense(url, entry("first.txt"));
+            LicenseDownloadResult second = downloader.downloadLicense(url, entry("second.txt"));
+
+            assertEquals(2, downloads.get());
+            assertEquals(first.getSha1(), second.getSha1());
+            assertEquals(
+                    "Private license text", new String(Files.readAllBytes(second.getFile().toPath()), "UTF-8"));
+            assertNull(cache.get(url));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private FileNameEntry entry(String name) {
+        return new FileNameEntry(new File(tempDir.toFile(), name), false, null);
+    }
+}
@@ -23,10 +23,26 @@ package org.codehaus.mojo.license.download;
  */
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
-
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.codehaus.mojo.license.download.LicenseDownloader.LicenseDownloadResult;
+import org.codehaus.mojo.license.spdx.SpdxLicenseTexts;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -107,6 +123,96 @@ class LicenseDownloaderTest {
                 "https://other.example.com/?ref=https://artifactory.example.com/artifactory"));
     }
 
+    @Test
+    void downloadLicenseSharesConcurrentDownloads(@TempDir Path tempDir) throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        CountDownLatch joined = new CountDownLatch(1);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/LICENSE", exchange -> {
+            requests.incrementAndGet();
+            try {
+                // answer once the other download waits for this one
+                joined.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "License text".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (LicenseDownloader first = joiningDownloader(joined);
+                LicenseDownloader second = joiningDownloader(joined)) {
+            String url = "http://localhost:" + server.getAddress().getPort() + "/LICENSE";
+            File firstFile = Files.createDirectories(tempDir.resolve("first")).resolve("license.txt").toFile();
+            File secondFile = Files.createDirectories(tempDir.resolve("second")).resolve("license.txt").toFile();
+
+            Future<LicenseDownloadResult> firstResult =
+                    executor.submit(() -> first.downloadLicense(url, new FileNameEntry(firstFile, false, null)));
+            Future<LicenseDownloadResult> secondResult =
+                    executor.submit(() -> second.downloadLicense(url, new FileNameEntry(secondFile, false, null)));
+
+            assertEquals(firstFile, firstResult.get().getFile());
+            assertEquals(secondFile, secondResult.get().getFile());
+            assertEquals(0, joined.getCount());
+            assertEquals(1, requests.get());
+            assertEquals(firstResult.get().getSha1(), secondResult.get().getSha1());
+            assertEquals("License text", new String(Files.readAllBytes(firstFile.toPath()), StandardCharsets.UTF_8));
+            assertEquals("License text", new String(Files.readAllBytes(secondFile.toPath()), StandardCharsets.UTF_8));
+        } finally {
+            executor.shutdownNow();
+            server.stop(0);
+        }
+    }
+
+    /**
+     * @return a downloader counting down the given latch when it waits for a download in progress
+     */
+    private static LicenseDownloader joiningDownloader(CountDownLatch joined) {
+        return new LicenseDownloader(
+                null,
+                5000,
+                5000,
+                5000,
+                Collections.emptyMap(),
+                StandardCharsets.UTF_8,
+                null,
+                null,
+                null,
+                Collections.emptyMap()) {
+            @Override
+            <T> T awaitFetch(String licenseUrlString, Future<T> inFlight) throws IOException {
+                joined.countDown();
+                return super.awaitFetch(licenseUrlString, inFlight);
+            }
+        };
+    }
+
+    @Test
+    void downloadLicenseFromBundledText(@TempDir Path tempDir) throws Exception {
+        String sha1 = "2b8b815229aa8a61e483fb4ba0588b8b6c491890";
+        File file = tempDir.resolve("apache_v2.txt").toFile();
+        try (LicenseDownloader downloader = downloaderWithAuth(null, null, null)) {
+            downloader.setLicenseTexts(SpdxLicenseTexts.getBundled());
+            FileNameEntry entry = new FileNameEntry(file, true, sha1);
+            assertTrue(downloader.hasLicenseText(entry));
+
+            // nothing listens on this port, the text must not be downloaded
+            LicenseDownloadResult result = downloader.downloadLicense("http://localhost:1/LICENSE-2.0", entry);
+
+            assertTrue(result.isSuccess());
+            assertEquals(file, result.getFile());
+            assertEquals(sha1, result.getSha1());
+            assertEquals(sha1, DigestUtils.sha1Hex(Files.readAllBytes(file.toPath())));
+        }
+    }
+
     private static LicenseDownloader downloaderWithAuth(String userName, String password, String serverUrl) {
         return new LicenseDownloader(
                 null,
@@ -0,0 +1,144 @@
+package org.codehaus.mojo.license.download;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class NormalizedContentChecksumTest {
+
+    /**
+     * Chars to build contents of, mixing line ends, whitespace, parts of {@code http://} and multi bytes chars.
+     */
+    private static final String[] PARTS = {
+        "\r", "\n", "\r\n", " ", "\t", "\u000B", "\f", "h", "t", "p", ":", "/", "http://", "HTTP://", "A", "b", "é",
+        "É", "İ", "😀", "€"
+    };
+
+    @Test
+    void sameAsNormalizedString() {
+        assertChecksum("");
+        assertChecksum("Apache License\r\n  Version 2.0, January 2004\r\n  http://www.apache.org/licenses/\n");
+        assertChecksum("a\tb \tc\r\rd\n\re hhttp://x htt http:/ http:// https://");
+        assertChecksum("trailing whitespace \r\n");
+        assertChecksum("trailing http:/");
+
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(30);
+            for (int j = 0; j < length; j++) {
+                sb.append(PARTS[random.nextInt(PARTS.length)]);
+            }
+            assertChecksum(sb.toString());
+        }
+    }
+
+    @Test
+    void bytesSplitAnywhere() {
+        String content = "Café €\r\n😀 HTTP://Été";
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        String expected = normalizedChecksum(content);
+        for (int i = 0; i <= bytes.length; i++) {
+            for (int j = i; j <= bytes.length; j++) {
+                NormalizedContentChecksum checksum = new NormalizedContentChecksum();
+                checksum.update(bytes, 0, i);
+                checksum.update(bytes, i, j - i);
+                checksum.update(bytes, j, bytes.length - j);
+                assertEquals(expected, checksum.digest(), i + "/" + j);
+            }
+        }
+    }
+
+    @Test
+    void malformedBytes() {
+        byte[] bytes = {'a', (byte) 0xC3, 'b', (byte) 0xE2, (byte) 0x82};
+        String content = new String(bytes, StandardCharsets.UTF_8);
+        assertEquals(
+                normalizedChecksum(content),
+                new NormalizedContentChecksum().update(bytes, 0, bytes.length).digest());
+    }
+
+    @Test
+    void sameAsBaselineWithUtf8Default() {
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.ENGLISH);
+            String content = "Copyright © 2004 Sébastien MÜLLER\r\n\tÉTÉ ΟΔΥΣΣΕΑ 😀 HTTP://Straße.example";
+            assertEquals(baselineChecksum(content), LicenseDownloader.calculateStringChecksum(content));
+
+            // a final capital sigma is lower cased as a small sigma, not as a final small sigma
+            String finalSigma = "ΟΔΥΣΣΕΥΣ";
+            assertNotEquals(baselineChecksum(finalSigma), LicenseDownloader.calculateStringChecksum(finalSigma));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    private static void assertChecksum(String content) {
+        String expected = normalizedChecksum(content);
+        assertEquals(expected, LicenseDownloader.calculateStringChecksum(content), content);
+        char[] chars = content.toCharArray();
+        NormalizedContentChecksum checksum = new NormalizedContentChecksum();
+        for (char c : chars) {
+            checksum.update(new char[] {c}, 0, 1);
+        }
+        assertEquals(expected, checksum.digest(), content);
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected, new NormalizedContentChecksum().update(bytes, 0, bytes.length).digest(), content);
+    }
+
+    /**
+     * The checksum computed before 2.8.0, on a JVM whose default charset is UTF-8.
+     */
+    private static String baselineChecksum(String content) {
+        String normalized = content.replace("\r\n", " ")
+                .replace("\r", " ")
+                .replace("\n", " ")
+                .replaceAll("\\s\\s+", " ")
+                .replace("http://", "https://")
+                .toLowerCase();
+        return DigestUtils.sha1Hex(normalized.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The normalization done on a whole string.
+     */
+    private static String normalizedChecksum(String content) {
+        String normalized = content.replace("\r\n", " ")
+                .replace("\r", " ")
+                .replace("\n", " ")
+                .replaceAll("\\s\\s+", " ")
+                .replace("http://", "https://")
+                .toLowerCase(Locale.ROOT);
+        return DigestUtils.sha1Hex(normalized.getBytes(StandardCharsets.UTF_8));
+    }
+}
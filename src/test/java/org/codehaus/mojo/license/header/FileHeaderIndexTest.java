@@ -0,0 +1,116 @@
+package org.codehaus.mojo.license.header;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.codehaus.mojo.license.FileState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests the {@link FileHeaderIndex}.
+ *
+ * @since 2.8.0
+ */
+class FileHeaderIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testStoreAndLoad() throws Exception {
+        File indexFile = tempDir.resolve("index/file-header-index.properties").toFile();
+        File file = write("A.java", "content");
+
+        FileHeaderIndex index = FileHeaderIndex.load(indexFile, "inputs");
+        assertNull(index.getState(file));
+        index.put(file, FileState.uptodate, "hash");
+        index.store();
+
+        index = FileHeaderIndex.load(indexFile, "inputs");
+        assertEquals(1, index.size());
+        assertEquals(FileState.uptodate, index.getState(file));
+        assertEquals(FileState.uptodate, index.getState(file, "hash"));
+        assertNull(index.getState(file, "otherHash"));
+    }
+
+    @Test
+    void testModifiedFile() throws Exception {
+        File indexFile = tempDir.resolve("file-header-index.properties").toFile();
+        File file = write("A.java", "content");
+
+        FileHeaderIndex index = FileHeaderIndex.load(indexFile, "inputs");
+        index.put(file, FileState.ignore, "hash");
+
+        write("A.java", "new content");
+        assertNull(index.getState(file));
+
+        index.remove(file);
+        assertNull(index.getState(file, "hash"));
+    }
+
+    @Test
+    void testInputsChanged() throws Exception {
+        File indexFile = tempDir.resolve("file-header-index.properties").toFile();
+        File file = write("A.java", "content");
+
+        FileHeaderIndex index = FileHeaderIndex.load(indexFile, "inputs");
+        index.put(file, FileState.uptodate, "hash");
+        index.store();
+
+        index = FileHeaderIndex.load(indexFile, "otherInputs");
+        assertEquals(0, index.size());
+        assertNull(index.getState(file));
+    }
+
+    @Test
+    void testUnknownContentHash() throws Exception {
+        File indexFile = tempDir.resolve("file-header-index.properties").toFile();
+        File file = write("A.java", "content");
+
+        FileHeaderIndex index = FileHeaderIndex.load(indexFile, "inputs");
+        index.put(file, FileState.uptodate, null);
+        index.store();
+        assertFalse(new String(Files.readAllBytes(indexFile.toPath()), StandardCharsets.UTF_8).contains("null"));
+
+        index = FileHeaderIndex.load(indexFile, "inputs");
+        assertEquals(1, index.size());
+        assertEquals(FileState.uptodate, index.getState(file));
+        assertNull(index.getState(file, "hash"));
+    }
+
+    private File write(String name, String content) throws Exception {
+        Path path = tempDir.resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path.toFile();
+    }
+}
@@ -0,0 +1,91 @@
+package org.codehaus.mojo.license.header;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link HeaderScanner}.
+ *
+ * @since 2.8.0
+ */
+class HeaderScannerTest {
+
+    private final HeaderScanner scanner = new HeaderScanner("%%Ignore-License", "#%L", "#L%");
+
+    @Test
+    void testHeader() {
+        String content = "package a;\n/*\n * #%L\n * d\n * %%\n * c\n * %%\n * l\n * #L%\n */\nclass A {} // %%\n";
+        HeaderScanner.Result result = scanner.scan(content);
+
+        assertFalse(result.hasIgnoreTag());
+        assertTrue(result.hasHeader());
+        assertFalse(result.isDuplicateStartTag());
+        assertEquals(content.indexOf("#%L"), result.getHeaderStart());
+        assertEquals(content.indexOf("#L%") + 3, result.getHeaderEnd());
+    }
+
+    @Test
+    void testNoHeader() {
+        HeaderScanner.Result result = scanner.scan("class A { String s = \"#L%\"; }");
+
+        assertFalse(result.hasStartTag());
+        assertFalse(result.hasHeader());
+    }
+
+    @Test
+    void testMissingEndTag() {
+        HeaderScanner.Result result = scanner.scan("#L% #%L d %% c %% l");
+
+        assertTrue(result.hasStartTag());
+        assertFalse(result.hasHeader());
+    }
+
+    @Test
+    void testDuplicateStartTag() {
+        assertTrue(scanner.scan("#%L a #L% b #%L").isDuplicateStartTag());
+        assertFalse(scanner.scan("#%L a #%L b #L%").isDuplicateStartTag());
+    }
+
+    @Test
+    void testIgnoreTag() {
+        HeaderScanner.Result result = scanner.scan("#%L a #L% %%%Ignore-License");
+
+        assertTrue(result.hasIgnoreTag());
+        assertTrue(result.hasHeader());
+    }
+
+    @Test
+    void testSameStartAndEndTags() {
+        HeaderScanner.Result result = new HeaderScanner("ignore", "---", "---").scan("a --- b ---- c");
+
+        assertEquals(2, result.getHeaderStart());
+        assertEquals(11, result.getHeaderEnd());
+        assertFalse(result.isDuplicateStartTag());
+    }
+}
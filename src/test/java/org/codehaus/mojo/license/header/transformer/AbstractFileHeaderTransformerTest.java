@@ -318,4 +318,37 @@ class AbstractFileHeaderTransformerTest {
         assertEquals(model.getCopyright(), model2.getCopyright());
         assertEquals(model.getLicense(), model2.getLicense());
     }
+
+    @Test
+    void testIsLicenseEquals() {
+        FileHeader expected = new FileHeader();
+        expected.setLicense("Licensed under\n  the License");
+        FileHeader actual = new FileHeader();
+
+        actual.setLicense("Licensed under the License");
+        assertTrue(transformer.isLicenseEquals(actual, expected));
+        actual.setLicense(" Licensed\r\n\tunder  the\fLicense\n\n");
+        assertTrue(transformer.isLicenseEquals(actual, expected));
+        actual.setLicense("Licensed under the License.");
+        assertFalse(transformer.isLicenseEquals(actual, expected));
+        actual.setLicense("Licensed under the");
+        assertFalse(transformer.isLicenseEquals(actual, expected));
+
+        // the expected license changes
+        expected.setLicense("Another License");
+        assertFalse(transformer.isLicenseEquals(actual, expected));
+        actual.setLicense("Another\nLicense");
+        assertTrue(transformer.isLicenseEquals(actual, expected));
+    }
+
+    @Test
+    void testToHeaderContentWithSettingsChange() {
+        String content = transformer.toHeaderContent(model1);
+        assertEquals(content, transformer.toHeaderContent(new FileHeader(model1)));
+
+        transformer.setProcessStartTag("%%%start");
+        String newContent = transformer.toHeaderContent(model1);
+        assertTrue(newContent.startsWith("%%%start"), newContent);
+        assertEquals(content.replace(DEFAULT_PROCESS_START_TAG, "%%%start"), newContent);
+    }
 }
@@ -0,0 +1,64 @@
+package org.codehaus.mojo.license.spdx;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.codehaus.mojo.license.spdx.SpdxLicenseInfo.Attachments.UrlInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpdxLicenseTextsTest {
+
+    @Test
+    void bundledTextsHaveTheSha1OfSpdxUrls() throws Exception {
+        Set<String> spdxSha1s = new HashSet<>();
+        for (SpdxLicenseInfo license : SpdxLicenseList.getLatest().getLicenses().values()) {
+            for (UrlInfo urlInfo : license.getAttachments().getUrlInfos().values()) {
+                spdxSha1s.add(urlInfo.getSha1());
+            }
+        }
+
+        SpdxLicenseTexts texts = SpdxLicenseTexts.getBundled();
+        assertTrue(texts.contains("2b8b815229aa8a61e483fb4ba0588b8b6c491890"));
+        for (String sha1 : texts.getSha1s()) {
+            assertTrue(spdxSha1s.contains(sha1), sha1);
+            assertEquals(sha1, DigestUtils.sha1Hex(texts.getText(sha1)));
+        }
+    }
+
+    @Test
+    void unknownText() throws Exception {
+        SpdxLicenseTexts texts = SpdxLicenseTexts.getBundled();
+        assertFalse(texts.contains(null));
+        assertFalse(texts.contains("0000000000000000000000000000000000000000"));
+        assertNull(texts.getText("0000000000000000000000000000000000000000"));
+    }
+}
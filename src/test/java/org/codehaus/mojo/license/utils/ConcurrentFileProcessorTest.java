@@ -0,0 +1,222 @@
+package org.codehaus.mojo.license.utils;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link ConcurrentFileProcessor}.
+ *
+ * @since 2.8.0
+ */
+class ConcurrentFileProcessorTest {
+
+    @Test
+    void testSingleThread() throws IOException {
+        List<Integer> processed = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+
+        new ConcurrentFileProcessor<Integer>(1, "test").process(items(100), item -> {
+            // processed in order by the calling thread
+            assertSame(caller, Thread.currentThread());
+            processed.add(item);
+        });
+
+        assertEquals(items(100), processed);
+    }
+
+    @Test
+    void testAllItemsProcessedOnce() throws IOException {
+        List<Integer> taken = Collections.synchronizedList(new ArrayList<>());
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        ConcurrentFileProcessor<Integer> processor = new ConcurrentFileProcessor<>(4, "test");
+        processor.process(items(1000), item -> {
+            taken.add(item);
+            threadNames.add(Thread.currentThread().getName());
+        });
+
+        // each item was processed once, by the worker threads
+        List<Integer> sorted = new ArrayList<>(taken);
+        Collections.sort(sorted);
+        assertEquals(items(1000), sorted);
+        assertTrue(threadNames.stream().allMatch(name -> name.startsWith("test-")), threadNames::toString);
+    }
+
+    @Test
+    void testDefaultThreads() {
+        assertEquals(Runtime.getRuntime().availableProcessors(), new ConcurrentFileProcessor<>(0, "test").getThreads());
+        assertEquals(3, new ConcurrentFileProcessor<>(3, "test").getThreads());
+        assertEquals(Runtime.getRuntime().availableProcessors(), ConcurrentFileProcessor.resolveThreads(-1));
+        assertEquals(3, ConcurrentFileProcessor.resolveThreads(3));
+    }
+
+    @Test
+    void testFailureType() {
+        FileNotFoundException ioFailure = new FileNotFoundException("io");
+        assertSame(ioFailure, assertThrows(IOException.class, () -> process(4, 100, 50, ioFailure)));
+
+        IllegalStateException runtimeFailure = new IllegalStateException("runtime");
+        assertSame(
+                runtimeFailure, assertThrows(IllegalStateException.class, () -> process(4, 100, 50, runtimeFailure)));
+
+        AssertionError error = new AssertionError("error");
+        assertSame(error, assertThrows(AssertionError.class, () -> process(4, 100, 50, error)));
+
+        assertSame(ioFailure, assertThrows(IOException.class, () -> process(1, 100, 50, ioFailure)));
+    }
+
+    @Test
+    void testFirstFailure() throws InterruptedException {
+        IOException first = new IOException("first");
+        IOException second = new IOException("second");
+        CountDownLatch firstThrown = new CountDownLatch(1);
+
+        IOException thrown = assertThrows(
+                IOException.class, () -> new ConcurrentFileProcessor<Integer>(2, "test").process(items(2), item -> {
+                    if (item == 0) {
+                        firstThrown.countDown();
+                        throw first;
+                    }
+                    // fail well after the first failure was thrown
+                    await(firstThrown);
+                    sleep(100);
+                    throw second;
+                }));
+
+        assertSame(first, thrown);
+    }
+
+    @Test
+    void testWorkersStopAfterFailure() {
+        AtomicInteger processed = new AtomicInteger();
+        IOException failure = new IOException("failure");
+
+        assertSame(
+                failure,
+                assertThrows(
+                        IOException.class,
+                        () -> new ConcurrentFileProcessor<Integer>(2, "test").process(items(1000), item -> {
+                            if (item == 0) {
+                                throw failure;
+                            }
+                            sleep(10);
+                            processed.incrementAndGet();
+                        })));
+
+        // the other worker stopped soon after the failure, instead of processing the 999 other items
+        assertTrue(processed.get() < 100, () -> processed + " items processed after the failure");
+    }
+
+    @Test
+    void testInterrupted() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch workersInterrupted = new CountDownLatch(2);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        AtomicReference<Boolean> callerInterrupted = new AtomicReference<>();
+
+        Thread caller = new Thread(() -> {
+            try {
+                new ConcurrentFileProcessor<Integer>(2, "test").process(items(2), item -> {
+                    started.countDown();
+                    try {
+                        new CountDownLatch(1).await();
+                    } catch (InterruptedException e) {
+                        workersInterrupted.countDown();
+                        throw new InterruptedIOException();
+                    }
+                });
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+            callerInterrupted.set(Thread.currentThread().isInterrupted());
+        });
+        caller.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        caller.interrupt();
+        caller.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertTrue(thrown.get() instanceof InterruptedIOException, () -> String.valueOf(thrown.get()));
+        // the interruption is kept for the caller, and the workers were interrupted
+        assertEquals(Boolean.TRUE, callerInterrupted.get());
+        assertTrue(workersInterrupted.await(10, TimeUnit.SECONDS));
+    }
+
+    private static void process(int threads, int itemCount, int failingItem, Throwable failure) throws IOException {
+        new ConcurrentFileProcessor<Integer>(threads, "test").process(items(itemCount), item -> {
+            if (item == failingItem) {
+                if (failure instanceof IOException) {
+                    throw (IOException) failure;
+                }
+                if (failure instanceof RuntimeException) {
+                    throw (RuntimeException) failure;
+                }
+                throw (Error) failure;
+            }
+        });
+    }
+
+    private static List<Integer> items(int count) {
+        List<Integer> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedIOException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.codehaus.mojo.license.utils;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the {@link FileContentReader}.
+ *
+ * @since 2.8.0
+ */
+class FileContentReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRead() throws IOException {
+        String text = "/* héader */\nclass € {}\n";
+        File file = write(text.getBytes(StandardCharsets.UTF_8));
+
+        FileContentReader.Content content = new FileContentReader("UTF-8").read(file);
+
+        assertEquals(text, content.getChars().toString());
+        assertEquals(DigestUtils.sha1Hex(text.getBytes(StandardCharsets.UTF_8)), content.sha1Hex());
+        int index = text.indexOf("class");
+        assertEquals(text.substring(0, index).getBytes(StandardCharsets.UTF_8).length, content.getByteOffset(index));
+    }
+
+    @Test
+    void testReadBigFile() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200000; i++) {
+            text.append("line é ").append(i).append('\n');
+        }
+        File file = write(text.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(text.toString(), new FileContentReader("UTF-8").read(file).getChars().toString());
+    }
+
+    @Test
+    void testReadPrefix() throws IOException {
+        String text = "/* header */\nclass € {}\n";
+        File file = write(text.getBytes(StandardCharsets.UTF_8));
+        FileContentReader reader = new FileContentReader("UTF-8");
+
+        // the € is cut
+        FileContentReader.Content content = reader.readPrefix(file, text.indexOf('€') + 1);
+
+        assertEquals(text.substring(0, text.indexOf('€')), content.getChars().toString().replace("\ufffd", ""));
+        assertEquals(13, content.getByteOffset(13));
+        assertEquals(text, reader.readPrefix(file, 1000).getChars().toString());
+    }
+
+    @Test
+    void testMalformedInput() throws IOException {
+        byte[] bytes = {'a', (byte) 0xff, 'b', '\n'};
+        File file = write(bytes);
+
+        FileContentReader.Content content = new FileContentReader("UTF-8").read(file);
+
+        assertEquals(new String(bytes, StandardCharsets.UTF_8), content.getChars().toString());
+        assertEquals(1, content.getByteOffset(1));
+        assertEquals(-1, content.getByteOffset(3));
+    }
+
+    private File write(byte[] bytes) throws IOException {
+        Path path = tempDir.resolve("A.java");
+        Files.write(path, bytes);
+        return path.toFile();
+    }
+}
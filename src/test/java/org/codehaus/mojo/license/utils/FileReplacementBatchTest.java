@@ -0,0 +1,121 @@
+package org.codehaus.mojo.license.utils;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests the {@link FileReplacementBatch}.
+ *
+ * @since 2.8.0
+ */
+class FileReplacementBatchTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCommit() throws IOException {
+        File a = write("A.java", "old a\n");
+        File b = write("B.java", "old b\ntail\n");
+        Path staging = tempDir.resolve("staging");
+        FileReplacementBatch batch = new FileReplacementBatch(staging.toFile(), "_tmp", true);
+
+        batch.stage(a, "new a\n", -1, false, "UTF-8");
+        batch.stage(b, "new b\n", "old b\n".length(), false, "UTF-8");
+
+        // nothing replaced until committed, new contents only in the staging directory
+        assertEquals("old a\n", read(a));
+        assertEquals(2, batch.size());
+        assertEquals(2, list(staging).length);
+        assertEquals(3, list(tempDir).length);
+
+        assertEquals(2, batch.commit(true));
+        assertEquals("new a" + System.lineSeparator(), read(a));
+        assertEquals("new b" + System.lineSeparator() + "tail\n", read(b));
+        assertEquals("old a\n", read(FileUtil.getBackupFile(a)));
+        assertEquals("old b\ntail\n", read(FileUtil.getBackupFile(b)));
+        assertFalse(Files.exists(tempDir.resolve("A.java_tmp")));
+        assertFalse(Files.exists(staging));
+    }
+
+    @Test
+    void testRollback() throws IOException {
+        File a = write("A.java", "old a\n");
+        Path staging = tempDir.resolve("staging");
+        FileReplacementBatch batch = new FileReplacementBatch(staging.toFile(), "_tmp", false);
+
+        batch.stage(a, "new a\n", -1, false, "UTF-8");
+        batch.rollback();
+
+        assertEquals(0, batch.commit(false));
+        assertEquals("old a\n", read(a));
+        assertFalse(Files.exists(tempDir.resolve("A.java_tmp")));
+        assertFalse(Files.exists(staging));
+    }
+
+    @Test
+    void testStagePrintingTail() throws IOException {
+        StringBuilder tail = new StringBuilder();
+        // mixed line endings, with a \r\n cut between two reads of the tail
+        for (int i = 0; i < 8191; i++) {
+            tail.append('x');
+        }
+        tail.append("\r\nline é\rline\n\nlast line");
+        File file = write("A.sql", "head\n" + tail);
+        FileReplacementBatch batch = new FileReplacementBatch(tempDir.resolve("staging").toFile(), "_tmp", false);
+
+        batch.stage(file, "new head\n", "head\n".length(), true, "UTF-8");
+        assertEquals(1, batch.commit(false));
+
+        File expected = tempDir.resolve("B.sql").toFile();
+        FileUtil.printString(expected, "new head\n" + tail, "UTF-8");
+        assertArrayEquals(Files.readAllBytes(expected.toPath()), Files.readAllBytes(file.toPath()));
+    }
+
+    private File write(String name, String content) throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path.toFile();
+    }
+
+    private static String[] list(Path directory) {
+        return directory.toFile().list();
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,165 @@
+package org.codehaus.mojo.license.utils;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests the {@link GitChangedFiles}.
+ */
+class GitChangedFilesTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = Files.createDirectories(tempDir.resolve("repository"));
+        assumeTrue(git(repository, "init", "-q"), "git is not available");
+        git(repository, "config", "user.name", "Test");
+        git(repository, "config", "user.email", "test@example.com");
+        git(repository, "config", "commit.gpgsign", "false");
+        write(".gitignore", "*.log\n");
+        write("unchanged.txt", "unchanged");
+        write("committed.txt", "base");
+        write("staged.txt", "base");
+        write("unstaged.txt", "base");
+        write("renamed.txt", "base");
+        write("deleted.txt", "base");
+        git(repository, "add", "-A");
+        git(repository, "commit", "-q", "-m", "base");
+        git(repository, "tag", "base");
+    }
+
+    @Test
+    void getChangedFiles() throws Exception {
+        write("committed.txt", "committed");
+        git(repository, "commit", "-q", "-a", "-m", "change");
+        write("staged.txt", "staged");
+        git(repository, "add", "staged.txt");
+        write("unstaged.txt", "unstaged");
+        git(repository, "mv", "renamed.txt", "new name.txt");
+        git(repository, "rm", "-q", "deleted.txt");
+        write("untracked.txt", "untracked");
+        write("ignored.log", "ignored");
+        write("sub/sub file.txt", "untracked");
+
+        Set<File> expected = files(
+                "committed.txt", "staged.txt", "unstaged.txt", "new name.txt", "untracked.txt", "sub/sub file.txt");
+        assertEquals(expected, GitChangedFiles.getChangedFiles(repository.toFile(), "base"));
+        // the paths are resolved from the top level of the working tree
+        assertEquals(expected, GitChangedFiles.getChangedFiles(repository.resolve("sub").toFile(), "base"));
+    }
+
+    @Test
+    @DisabledOnOs(value = OS.WINDOWS, disabledReason = "invalid file names on Windows")
+    void getChangedFilesWithNamesQuotedByGit() throws Exception {
+        write("committed\\back\tslash.txt", "base");
+        git(repository, "add", "-A");
+        git(repository, "commit", "-q", "-m", "change");
+        write("staged \"quoted\".txt", "staged");
+        git(repository, "add", "-A");
+        write("untracked\nnew line\r.txt", "untracked");
+
+        Set<File> expected = files("committed\\back\tslash.txt", "staged \"quoted\".txt", "untracked\nnew line\r.txt");
+        assertEquals(expected, GitChangedFiles.getChangedFiles(repository.toFile(), "base"));
+    }
+
+    @Test
+    void getChangedFilesWithoutChange() throws Exception {
+        assertEquals(new HashSet<File>(), GitChangedFiles.getChangedFiles(repository.toFile(), "base"));
+    }
+
+    @Test
+    void getChangedFilesOfUnknownReference() {
+        assertThrows(IOException.class, () -> GitChangedFiles.getChangedFiles(repository.toFile(), "unknown"));
+    }
+
+    @Test
+    void getChangedFilesOutOfWorkingTree() throws Exception {
+        Path directory = Files.createDirectories(tempDir.resolve("directory"));
+        assertThrows(IOException.class, () -> GitChangedFiles.getChangedFiles(directory.toFile(), "base"));
+    }
+
+    @Test
+    void getChangedFilesWithoutGit() {
+        assertThrows(
+                IOException.class,
+                () -> GitChangedFiles.getChangedFiles(repository.toFile(), "base", "git-is-not-installed"));
+    }
+
+    private Set<File> files(String... paths) {
+        Set<File> result = new HashSet<>();
+        for (String path : paths) {
+            result.add(repository.resolve(path).toAbsolutePath().normalize().toFile());
+        }
+        return result;
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = repository.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean git(Path directory, String... arguments) throws InterruptedException {
+        String[] command = new String[arguments.length + 1];
+        command[0] = "git";
+        System.arraycopy(arguments, 0, command, 1, arguments.length);
+        try {
+            Process process = new ProcessBuilder(Arrays.asList(command))
+                    .directory(directory.toFile())
+                    .redirectErrorStream(true)
+                    .start();
+            try (InputStream in = process.getInputStream()) {
+                while (in.read() != -1) {
+                    // ignore the output
+                }
+            }
+            return process.waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.codehaus.mojo.license.utils;
+
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2026 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.codehaus.plexus.util.DirectoryScanner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Tests the {@link ParallelDirectoryScanner}.
+ *
+ * @since 2.8.0
+ */
+class ParallelDirectoryScannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (String path : new String[] {
+            "pom.xml",
+            "src/main/java/a/A.java",
+            "src/main/java/a/b/B.java",
+            "src/main/resources/a.properties",
+            "src/main/webapp/node_modules/lib/index.js",
+            "src/main/webapp/app.js",
+            "target/classes/a/A.class",
+            "target/generated-sources/G.java"
+        }) {
+            Path file = tempDir.resolve(path);
+            Files.createDirectories(file.getParent());
+            Files.createFile(file);
+        }
+    }
+
+    @Test
+    void testDefaultPatterns() throws IOException {
+        assertSameFiles(null, null);
+    }
+
+    @Test
+    void testIncludesAndExcludes() throws IOException {
+        assertSameFiles(new String[] {"**/*.java", "**/*.js"}, new String[] {"**/node_modules/**", "target/**"});
+        assertSameFiles(new String[] {"src/main/"}, new String[] {"**/b/*", "**/*.properties"});
+        assertSameFiles(new String[] {"**/*"}, new String[] {"**"});
+    }
+
+    @Test
+    void testSymbolicLinkLoops() throws IOException {
+        Path basedir = tempDir.resolve("links");
+        Files.createDirectories(basedir.resolve("x"));
+        Files.createDirectories(basedir.resolve("y"));
+        Files.createFile(basedir.resolve("x/X.java"));
+        Files.createFile(basedir.resolve("y/Y.java"));
+        // a loop made of two links, none of them leading to an ancestor of the link
+        Files.createSymbolicLink(basedir.resolve("x/toY"), Paths.get("../y"));
+        Files.createSymbolicLink(basedir.resolve("y/toX"), Paths.get("../x"));
+        Files.createSymbolicLink(basedir.resolve("x/self"), Paths.get("."));
+
+        String[] expected = {"x/X.java", "x/toY/Y.java", "y/Y.java", "y/toX/X.java"};
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = expected[i].replace('/', File.separatorChar);
+        }
+        assertArrayEquals(expected, new ParallelDirectoryScanner(null, null, 2).scan(basedir.toFile()));
+    }
+
+    private void assertSameFiles(String[] includes, String[] excludes) throws IOException {
+        File basedir = tempDir.toFile();
+
+        DirectoryScanner expected = new DirectoryScanner();
+        expected.setBasedir(basedir);
+        expected.setIncludes(includes);
+        expected.setExcludes(excludes);
+        expected.scan();
+        String[] expectedFiles = expected.getIncludedFiles();
+        Arrays.sort(expectedFiles);
+
+        assertArrayEquals(expectedFiles, new ParallelDirectoryScanner(includes, excludes, 2).scan(basedir));
+    }
+}